@@ -19,12 +19,15 @@ import java.util.Map;
 
 import javax.script.ScriptEngine;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Engine;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 
 /**
@@ -40,6 +43,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String INJECTION_CODE = "Object.assign(this, require('openhab'));";
     private boolean injectionEnabled = true;
+    private @Nullable Engine engine;
 
     public static final String MIME_TYPE = "application/javascript;version=ECMAScript-2021";
 
@@ -71,7 +75,22 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     @Override
     public ScriptEngine createScriptEngine(String scriptType) {
         return new DebuggingGraalScriptEngine<>(
-                new OpenhabGraalJSScriptEngine(injectionEnabled ? INJECTION_CODE : null));
+                new OpenhabGraalJSScriptEngine(injectionEnabled ? INJECTION_CODE : null, getEngine()));
+    }
+
+    /**
+     * All script engines share one polyglot engine, so the code of the libraries is only parsed and compiled once.
+     *
+     * @return the shared polyglot engine
+     */
+    private synchronized Engine getEngine() {
+        Engine engine = this.engine;
+        if (engine == null) {
+            engine = Engine.newBuilder().allowExperimentalOptions(true).option("engine.WarnInterpreterOnly", "false")
+                    .build();
+            this.engine = engine;
+        }
+        return engine;
     }
 
     @Activate
@@ -79,6 +98,16 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         modified(config);
     }
 
+    @Deactivate
+    protected synchronized void deactivate() {
+        Engine engine = this.engine;
+        if (engine != null) {
+            // also closes the contexts of all script engines that are still open
+            engine.close(true);
+            this.engine = null;
+        }
+    }
+
     @Modified
     protected void modified(Map<String, ?> config) {
         Object injectionEnabled = config.get(CFG_INJECTION_ENABLED);
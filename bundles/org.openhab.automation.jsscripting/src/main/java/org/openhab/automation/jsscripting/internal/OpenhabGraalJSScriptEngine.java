@@ -30,17 +30,19 @@ import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import javax.script.ScriptContext;
-import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
 import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChannel;
@@ -67,21 +69,32 @@ public class OpenhabGraalJSScriptEngine
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
     // final CommonJS search path for our library
     private static final Path NODE_DIR = Paths.get("node_modules");
+    private static final String GLOBAL_SCRIPT_NAME = "@jsscripting-globals-injection.js";
+
+    // shared by all script engines, the sources are parsed only once per polyglot engine
+    private static final Map<String, Source> GLOBAL_SOURCES = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> NODE_RESOURCES = new ConcurrentHashMap<>();
 
     // these fields start as null because they are populated on first use
     private @NonNullByDefault({}) String engineIdentifier;
     private @NonNullByDefault({}) Consumer<String> scriptDependencyListener;
 
     private boolean initialized = false;
-    private String globalScript;
+    private final Source globalSource;
 
     /**
      * Creates an implementation of ScriptEngine (& Invocable), wrapping the contained engine, that tracks the script
      * lifecycle and provides hooks for scripts to do so too.
+     *
+     * @param injectionCode code that is evaluated before the script (may be null)
+     * @param engine the polyglot engine, sharing it between script engines allows to reuse the compiled code of the
+     *            libraries
      */
-    public OpenhabGraalJSScriptEngine(@Nullable String injectionCode) {
+    public OpenhabGraalJSScriptEngine(@Nullable String injectionCode, Engine engine) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
-        this.globalScript = GLOBAL_REQUIRE + (injectionCode != null ? injectionCode : "");
+        this.globalSource = GLOBAL_SOURCES.computeIfAbsent(
+                GLOBAL_REQUIRE + (injectionCode != null ? injectionCode : ""),
+                globalScript -> Source.newBuilder("js", globalScript, GLOBAL_SCRIPT_NAME).cached(true).buildLiteral());
 
         // Custom translate JS Objects - > Java Objects
         HostAccess hostAccess = HostAccess.newBuilder(HostAccess.ALL)
@@ -99,9 +112,7 @@ public class OpenhabGraalJSScriptEngine
                         }, HostAccess.TargetMappingPrecedence.LOW)
                 .build();
 
-        delegate = GraalJSScriptEngine.create(
-                Engine.newBuilder().allowExperimentalOptions(true).option("engine.WarnInterpreterOnly", "false")
-                        .build(),
+        delegate = GraalJSScriptEngine.create(engine,
                 Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true).allowHostAccess(hostAccess)
                         .option("js.commonjs-require-cwd", JSDependencyTracker.LIB_PATH)
                         .option("js.nashorn-compat", "true") // to ease migration
@@ -120,11 +131,7 @@ public class OpenhabGraalJSScriptEngine
                                 if (path.toString().endsWith(".js")) {
                                     SeekableByteChannel sbc = null;
                                     if (isRootNodePath(path)) {
-                                        InputStream is = getClass().getResourceAsStream(nodeFileToResource(path));
-                                        if (is == null) {
-                                            throw new IOException("Could not read " + path.toString());
-                                        }
-                                        sbc = new ReadOnlySeekableByteArrayChannel(is.readAllBytes());
+                                        sbc = new ReadOnlySeekableByteArrayChannel(readNodeResource(path));
                                     } else {
                                         sbc = super.newByteChannel(path, options, attrs);
                                     }
@@ -205,11 +212,36 @@ public class OpenhabGraalJSScriptEngine
 
         initialized = true;
 
+        long startTime = System.currentTimeMillis();
         try {
-            eval(globalScript);
-        } catch (ScriptException e) {
+            delegate.getPolyglotContext().eval(globalSource);
+        } catch (PolyglotException e) {
             LOGGER.error("Could not inject global script", e);
         }
+        LOGGER.debug("Injected global script into engine '{}' in {} ms", engineIdentifier,
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Reads a library file from the class resources. The files do not change at runtime, so they are only read once.
+     *
+     * @param path a root node path
+     * @return the content of the file
+     * @throws IOException if the file can not be read
+     */
+    private byte[] readNodeResource(Path path) throws IOException {
+        String resource = nodeFileToResource(path);
+        byte[] content = NODE_RESOURCES.get(resource);
+        if (content == null) {
+            try (InputStream is = getClass().getResourceAsStream(resource)) {
+                if (is == null) {
+                    throw new IOException("Could not read " + path.toString());
+                }
+                content = is.readAllBytes();
+            }
+            NODE_RESOURCES.put(resource, content);
+        }
+        return content;
     }
 
     /**
@@ -16,6 +16,7 @@ import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -76,6 +77,7 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -111,6 +113,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final DeviceMetadataCache metadataCache;
 
     static {
         // loads all virtual datapoints
@@ -139,6 +142,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.metadataCache = new DeviceMetadataCache(
+                Path.of(OpenHAB.getUserDataFolder(), BINDING_ID, "metadata-" + id + ".json"));
     }
 
     @Override
@@ -373,11 +378,16 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        long startTime = System.nanoTime();
+        metadataCache.load(config.getGatewayInfo().getFirmware());
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
         // loading datapoints for all channels
         Set<String> loadedDevices = new HashSet<>();
+        int cachedChannels = 0;
+        int fetchedChannels = 0;
+        long fetchTime = 0;
         Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
         for (HmDevice device : deviceDescriptions) {
             if (!cancelLoadAllMetadata) {
@@ -403,9 +413,22 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                     // clone all datapoints
                                     cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
                                 } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                    if (metadataCache.restoreChannel(channel)) {
+                                        logger.trace("    Restored datapoints of channel {} from cache", channel);
+                                        cachedChannels++;
+                                    } else {
+                                        logger.trace("    Loading datapoints into channel {}", channel);
+                                        long fetchStartTime = System.nanoTime();
+                                        boolean masterLoaded = addChannelDatapoints(channel,
+                                                HmParamsetType.MASTER);
+                                        boolean valuesLoaded = addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                        fetchTime += System.nanoTime() - fetchStartTime;
+                                        fetchedChannels++;
+                                        // an incomplete channel is loaded from the gateway again on the next start
+                                        if (masterLoaded && valuesLoaded) {
+                                            metadataCache.storeChannel(channel);
+                                        }
+                                    }
 
                                     // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
                                     // the data point set might change depending on the selected mode.
@@ -427,20 +450,47 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            logMetadataCacheUsage(startTime, cachedChannels, fetchedChannels, fetchTime);
+            metadataCache.save();
         }
         initialized = true;
     }
 
+    /**
+     * Logs how long loading the metadata took and the time saved by the channels restored from the metadata cache.
+     */
+    private void logMetadataCacheUsage(long startTime, int cachedChannels, int fetchedChannels, long fetchTime) {
+        if (fetchedChannels > 0) {
+            metadataCache.setChannelLoadMillis(TimeUnit.NANOSECONDS.toMillis(fetchTime) / (double) fetchedChannels);
+        }
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (cachedChannels > 0) {
+            long savedMillis = Math.round(cachedChannels * metadataCache.getChannelLoadMillis());
+            logger.info(
+                    "Loaded metadata of {} devices from gateway '{}' in {} ms, {} channels restored from cache "
+                            + "and {} channels loaded from the gateway, saved about {} ms",
+                    devices.size(), id, totalMillis, cachedChannels, fetchedChannels, savedMillis);
+        } else {
+            logger.debug(
+                    "Loaded metadata of {} devices from gateway '{}' in {} ms, {} channels loaded from the gateway",
+                    devices.size(), id, totalMillis, fetchedChannels);
+        }
+    }
+
     /**
      * Loads all datapoints from the gateway.
+     *
+     * @return true, if the paramset description of the channel was loaded
      */
-    protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+    protected boolean addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
             getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
+            return true;
         } catch (UnknownParameterSetException ex) {
             logger.info(
                     "Can not load metadata for device: {}, channel: {}, paramset: {}, maybe there are no channels available",
                     channel.getDevice().getAddress(), channel.getNumber(), paramsetType);
+            return false;
         }
     }
 
@@ -133,7 +133,7 @@ public class CcuGateway extends AbstractHomematicGateway {
     }
 
     @Override
-    protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+    protected boolean addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
         try {
             getRpcClient(channel.getDevice().getHmInterface()).addChannelDatapoints(channel, paramsetType);
         } catch (UnknownParameterSetException ex) {
@@ -146,6 +146,7 @@ public class CcuGateway extends AbstractHomematicGateway {
                     new String[] { channel.getDevice().getAddress(), channel.getNumber().toString() });
             new CcuParamsetDescriptionParser(channel, paramsetType).parse(resultList);
         }
+        return true;
     }
 
     @Override
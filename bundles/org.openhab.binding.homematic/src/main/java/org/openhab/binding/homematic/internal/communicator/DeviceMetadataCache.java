@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * On-disk cache of the datapoint metadata (the paramset descriptions) of the devices of a gateway. The metadata only
+ * depends on the type and firmware of a device, so it is stored once per type and firmware and validated against the
+ * channel layout reported by listDevices. Reconfigurable channels are never cached, their datapoints depend on the
+ * selected channel function. The whole cache is discarded if the firmware of the gateway changed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(DeviceMetadataCache.class);
+    private final Gson gson = new Gson();
+    private final Path file;
+
+    private CacheContent content = new CacheContent();
+    private final Set<String> usedKeys = new HashSet<>();
+    private boolean changed;
+
+    public DeviceMetadataCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the cache from disk, it is empty if the file does not exist, can't be read or was written for another
+     * firmware of the gateway.
+     */
+    public synchronized void load(@Nullable String gatewayFirmware) {
+        content = new CacheContent();
+        content.gatewayFirmware = gatewayFirmware;
+        usedKeys.clear();
+        changed = false;
+        if (!Files.exists(file)) {
+            logger.debug("No device metadata cache found at {}", file);
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CacheContent loaded = gson.fromJson(reader, CacheContent.class);
+            if (loaded == null || loaded.devices == null) {
+                logger.debug("Ignoring empty device metadata cache {}", file);
+            } else if (!Objects.equals(gatewayFirmware, loaded.gatewayFirmware)) {
+                logger.debug("Gateway firmware changed from {} to {}, ignoring device metadata cache {}",
+                        loaded.gatewayFirmware, gatewayFirmware, file);
+            } else {
+                content = loaded;
+                logger.debug("Loaded metadata of {} device types from {}", content.devices.size(), file);
+            }
+        } catch (IOException | JsonParseException ex) {
+            logger.debug("Can't read device metadata cache {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Adds the cached datapoints to the channel.
+     *
+     * @return true, if the channel was found in the cache, false if the metadata has to be loaded from the gateway
+     */
+    public synchronized boolean restoreChannel(HmChannel channel) {
+        DeviceEntry deviceEntry = getValidEntry(channel.getDevice());
+        if (deviceEntry == null) {
+            return false;
+        }
+        ChannelEntry channelEntry = deviceEntry.channels.get(channel.getNumber());
+        if (channelEntry == null || channelEntry.datapoints == null) {
+            return false;
+        }
+        for (DatapointEntry dpEntry : channelEntry.datapoints) {
+            channel.addDatapoint(dpEntry.toDatapoint());
+        }
+        return true;
+    }
+
+    /**
+     * Stores the datapoints of a channel that were loaded from the gateway.
+     */
+    public synchronized void storeChannel(HmChannel channel) {
+        HmDevice device = channel.getDevice();
+        String key = getKey(device);
+        usedKeys.add(key);
+        DeviceEntry deviceEntry = getValidEntry(device);
+        if (deviceEntry == null) {
+            deviceEntry = new DeviceEntry();
+            for (HmChannel deviceChannel : device.getChannels()) {
+                deviceEntry.channels.put(deviceChannel.getNumber(), new ChannelEntry(deviceChannel.getType()));
+            }
+            content.devices.put(key, deviceEntry);
+        }
+        ChannelEntry channelEntry = Objects.requireNonNull(deviceEntry.channels.get(channel.getNumber()));
+        if (channel.isReconfigurable()) {
+            channelEntry.datapoints = null;
+        } else {
+            List<DatapointEntry> datapoints = new ArrayList<>();
+            for (HmDatapoint dp : channel.getDatapoints()) {
+                if (!dp.isVirtual()) {
+                    datapoints.add(new DatapointEntry(dp));
+                }
+            }
+            channelEntry.datapoints = datapoints;
+        }
+        changed = true;
+    }
+
+    /**
+     * Returns the average time in milliseconds it took to load the metadata of a channel from the gateway, 0 if
+     * unknown.
+     */
+    public synchronized double getChannelLoadMillis() {
+        return content.channelLoadMillis;
+    }
+
+    /**
+     * Sets the average time in milliseconds it took to load the metadata of a channel from the gateway.
+     */
+    public synchronized void setChannelLoadMillis(double channelLoadMillis) {
+        content.channelLoadMillis = channelLoadMillis;
+        changed = true;
+    }
+
+    /**
+     * Returns the number of cached device types.
+     */
+    public synchronized int size() {
+        return content.devices.size();
+    }
+
+    /**
+     * Removes the device types that were not seen since the last {@link #load(String)} and writes the cache to disk if
+     * it changed.
+     */
+    public synchronized void save() {
+        if (content.devices.keySet().retainAll(usedKeys)) {
+            changed = true;
+        }
+        if (!changed) {
+            return;
+        }
+        try {
+            Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                gson.toJson(content, writer);
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            changed = false;
+            logger.debug("Saved metadata of {} device types to {}", content.devices.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't write device metadata cache {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the cache entry of the device, if it exists and has the same channel layout as the device.
+     */
+    private @Nullable DeviceEntry getValidEntry(HmDevice device) {
+        String key = getKey(device);
+        DeviceEntry deviceEntry = content.devices.get(key);
+        if (deviceEntry == null) {
+            return null;
+        }
+        usedKeys.add(key);
+        List<HmChannel> channels = device.getChannels();
+        boolean sameLayout = deviceEntry.channels.size() == channels.size();
+        for (int i = 0; sameLayout && i < channels.size(); i++) {
+            ChannelEntry channelEntry = deviceEntry.channels.get(channels.get(i).getNumber());
+            sameLayout = channelEntry != null && Objects.equals(channelEntry.type, channels.get(i).getType());
+        }
+        if (!sameLayout) {
+            logger.debug("Channels of device '{}' differ from the cached channels of type {}", device.getAddress(),
+                    key);
+            content.devices.remove(key);
+            changed = true;
+            return null;
+        }
+        return deviceEntry;
+    }
+
+    private static String getKey(HmDevice device) {
+        return String.format("%s:%s:%s", device.getHmInterface(), device.getType(), device.getFirmware());
+    }
+
+    /**
+     * Encodes a value together with its type, the values of datapoints are compared and converted by their Java type.
+     */
+    static @Nullable String encodeValue(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Boolean) {
+            return "B:" + value;
+        } else if (value instanceof Integer) {
+            return "I:" + value;
+        } else if (value instanceof Long) {
+            return "L:" + value;
+        } else if (value instanceof Float) {
+            return "F:" + value;
+        } else if (value instanceof Double) {
+            return "D:" + value;
+        } else {
+            return "S:" + value;
+        }
+    }
+
+    /**
+     * Decodes a value encoded by {@link #encodeValue(Object)}.
+     */
+    static @Nullable Object decodeValue(@Nullable String encoded) {
+        if (encoded == null || encoded.length() < 2 || encoded.charAt(1) != ':') {
+            return null;
+        }
+        String value = encoded.substring(2);
+        switch (encoded.charAt(0)) {
+            case 'B':
+                return Boolean.valueOf(value);
+            case 'I':
+                return Integer.valueOf(value);
+            case 'L':
+                return Long.valueOf(value);
+            case 'F':
+                return Float.valueOf(value);
+            case 'D':
+                return Double.valueOf(value);
+            default:
+                return value;
+        }
+    }
+
+    private static class CacheContent {
+        @Nullable
+        String gatewayFirmware;
+        double channelLoadMillis;
+        Map<String, DeviceEntry> devices = new HashMap<>();
+    }
+
+    private static class DeviceEntry {
+        Map<Integer, ChannelEntry> channels = new HashMap<>();
+    }
+
+    private static class ChannelEntry {
+        @Nullable
+        String type;
+        // null for reconfigurable channels
+        @Nullable
+        List<DatapointEntry> datapoints;
+
+        ChannelEntry(@Nullable String type) {
+            this.type = type;
+        }
+    }
+
+    private static class DatapointEntry {
+        @Nullable
+        String name;
+        @Nullable
+        String description;
+        @Nullable
+        HmValueType type;
+        @Nullable
+        HmParamsetType paramsetType;
+        @Nullable
+        String minValue;
+        @Nullable
+        String maxValue;
+        @Nullable
+        String defaultValue;
+        String @Nullable [] options;
+        boolean readOnly;
+        boolean readable;
+        @Nullable
+        String info;
+        @Nullable
+        String unit;
+        boolean trigger;
+
+        DatapointEntry(HmDatapoint dp) {
+            name = dp.getName();
+            description = dp.getDescription();
+            type = dp.getType();
+            paramsetType = dp.getParamsetType();
+            minValue = encodeValue(dp.getMinValue());
+            maxValue = encodeValue(dp.getMaxValue());
+            defaultValue = encodeValue(dp.getDefaultValue());
+            options = dp.getOptions();
+            readOnly = dp.isReadOnly();
+            readable = dp.isReadable();
+            info = dp.getInfo();
+            unit = dp.getUnit();
+            trigger = dp.isTrigger();
+        }
+
+        HmDatapoint toDatapoint() {
+            Object defaultValue = decodeValue(this.defaultValue);
+            HmDatapoint dp = new HmDatapoint(name, description, type, defaultValue, readOnly, paramsetType);
+            dp.setMinValue((Number) decodeValue(minValue));
+            dp.setMaxValue((Number) decodeValue(maxValue));
+            dp.setDefaultValue(defaultValue);
+            dp.setOptions(options);
+            dp.setReadable(readable);
+            dp.setInfo(info);
+            dp.setUnit(unit);
+            dp.setTrigger(trigger);
+            return dp;
+        }
+    }
+}
@@ -29,9 +29,17 @@ public class EventParser extends CommonRpcParser<Object[], HmDatapointInfo> {
 
     @Override
     public HmDatapointInfo parse(Object[] message) throws IOException {
+        value = message[3];
+        return parseDatapointInfo(message[1], message[2]);
+    }
+
+    /**
+     * Returns the datapoint of an event with the given address and datapoint name.
+     */
+    public HmDatapointInfo parseDatapointInfo(Object addressParameter, Object nameParameter) {
         String address;
         Integer channel = 0;
-        String addressWithChannel = toString(message[1]);
+        String addressWithChannel = toString(addressParameter);
         if ("".equals(addressWithChannel)) {
             address = HmDevice.ADDRESS_GATEWAY_EXTRAS;
             channel = HmChannel.CHANNEL_NUMBER_VARIABLE;
@@ -44,8 +52,7 @@ public class EventParser extends CommonRpcParser<Object[], HmDatapointInfo> {
             }
         }
 
-        String name = toString(message[2]);
-        value = message[3];
+        String name = toString(nameParameter);
 
         return new HmDatapointInfo(address, HmParamsetType.VALUES, channel, name);
     }
@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.parser.EventParser;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Decodes the BIN-RPC method calls of a Homematic gateway directly from the receive buffer of a connection. Events,
+ * also if they are bundled in a system.multicall, are passed to the {@link RpcEventListener} while they are decoded,
+ * only the address, the datapoint name and the value of an event are created as objects. All other method calls are
+ * rare and are left to {@link BinRpcMessage} and the {@link RpcResponseHandler}.
+ *
+ * A decoder is not thread-safe, it is used by the thread of the BIN-RPC server only.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BinRpcCallbackDecoder {
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int TYPE_INTEGER = 1;
+    private static final int TYPE_BOOLEAN = 2;
+    private static final int TYPE_STRING = 3;
+    private static final int TYPE_DOUBLE = 4;
+    private static final int TYPE_DATE = 5;
+    private static final int TYPE_INT64 = 0xD1;
+    private static final int TYPE_ARRAY = 0x100;
+    private static final int TYPE_STRUCT = 0x101;
+
+    private final RpcEventListener listener;
+    private final Charset encoding;
+    private final EventParser eventParser = new EventParser();
+    private final byte[] eventMethod;
+    private final byte[] multicallMethod;
+    private final byte[] methodNameKey;
+    private final byte[] paramsKey;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(0);
+    private int position;
+    private int end;
+
+    public BinRpcCallbackDecoder(RpcEventListener listener, Charset encoding) {
+        this.listener = listener;
+        this.encoding = encoding;
+        eventMethod = RPC_METHODNAME_EVENT.getBytes(encoding);
+        multicallMethod = RPC_METHODNAME_SYSTEM_MULTICALL.getBytes(encoding);
+        methodNameKey = "methodName".getBytes(encoding);
+        paramsKey = "params".getBytes(encoding);
+    }
+
+    /**
+     * Returns the length of the message that starts at the position of the buffer, including the header.
+     *
+     * @return the length of the message or -1 if the header has not been received completely
+     * @throws IOException if the message is not a BIN-RPC message
+     */
+    public static int getMessageLength(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            return -1;
+        }
+        int start = buffer.position();
+        if (buffer.get(start) != 'B' || buffer.get(start + 1) != 'i' || buffer.get(start + 2) != 'n') {
+            throw new IOException("No BinX signature");
+        }
+        int length = buffer.getInt(start + 4);
+        if (length < 0) {
+            throw new IOException("Invalid message length " + length);
+        }
+        return HEADER_LENGTH + length;
+    }
+
+    /**
+     * Decodes an event or a system.multicall of events and passes the events to the listener.
+     *
+     * @param buffer the receive buffer, must be backed by an array
+     * @param start the start of the message in the buffer
+     * @param length the length of the message, including the header
+     * @return the name of the method if the message was decoded, null if the message is neither an event nor a
+     *         multicall with events only. Nothing was passed to the listener in that case.
+     * @throws IOException if the message is malformed
+     */
+    public @Nullable String decodeEvents(ByteBuffer buffer, int start, int length) throws IOException {
+        this.buffer = buffer;
+        this.end = start + length;
+        try {
+            position = start + HEADER_LENGTH;
+            if (nextStringEquals(eventMethod)) {
+                skipString();
+                readEvent(readInt());
+                return RPC_METHODNAME_EVENT;
+            } else if (nextStringEquals(multicallMethod)) {
+                skipString();
+                int multicallStart = position;
+                if (!readMulticall(false)) {
+                    return null;
+                }
+                position = multicallStart;
+                readMulticall(true);
+                return RPC_METHODNAME_SYSTEM_MULTICALL;
+            }
+            return null;
+        } catch (IndexOutOfBoundsException | NumberFormatException | ClassCastException e) {
+            throw new IOException("Malformed BIN-RPC message: " + e.getMessage(), e);
+        } finally {
+            this.buffer = ByteBuffer.allocate(0);
+        }
+    }
+
+    /**
+     * Reads the parameters of a multicall, which is an array of structs with the method name and the parameters of
+     * each call.
+     *
+     * @param emit true to pass the events to the listener, false to only check that all calls are events
+     * @return true, if all calls are events
+     */
+    private boolean readMulticall(boolean emit) throws IOException {
+        int args = readInt();
+        if (args < 1 || readInt() != TYPE_ARRAY) {
+            return false;
+        }
+        int calls = readInt();
+        for (int i = 0; i < calls; i++) {
+            if (readInt() != TYPE_STRUCT) {
+                return false;
+            }
+            boolean isEvent = false;
+            int paramsPosition = -1;
+            int members = readInt();
+            for (int j = 0; j < members; j++) {
+                if (nextStringEquals(methodNameKey)) {
+                    skipString();
+                    isEvent = readInt() == TYPE_STRING && nextStringEquals(eventMethod);
+                    skipString();
+                } else if (nextStringEquals(paramsKey)) {
+                    skipString();
+                    paramsPosition = position;
+                    skipValue();
+                } else {
+                    skipString();
+                    skipValue();
+                }
+            }
+            if (!isEvent || paramsPosition < 0) {
+                return false;
+            }
+            if (emit) {
+                int nextCall = position;
+                position = paramsPosition;
+                if (readInt() != TYPE_ARRAY) {
+                    throw new IOException("Parameters of a multicall event are not an array");
+                }
+                readEvent(readInt());
+                position = nextCall;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the interface id, the address, the datapoint name and the value of an event and passes it to the listener.
+     */
+    private void readEvent(int args) throws IOException {
+        if (args < 4) {
+            throw new IOException("Event with " + args + " parameters received");
+        }
+        skipValue();
+        Object address = readValue();
+        Object name = readValue();
+        Object value = readValue();
+        for (int i = 4; i < args; i++) {
+            skipValue();
+        }
+        HmDatapointInfo dpInfo = eventParser.parseDatapointInfo(address, name);
+        listener.eventReceived(dpInfo, value);
+    }
+
+    private void checkAvailable(int bytes) throws IOException {
+        if (bytes < 0 || position + bytes > end) {
+            throw new IOException("BIN-RPC message ends unexpectedly at " + position);
+        }
+    }
+
+    private int readInt() throws IOException {
+        checkAvailable(4);
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    private String readString() throws IOException {
+        int length = readInt();
+        checkAvailable(length);
+        String value = new String(buffer.array(), buffer.arrayOffset() + position, length, encoding);
+        position += length;
+        return value;
+    }
+
+    private void skipString() throws IOException {
+        int length = readInt();
+        checkAvailable(length);
+        position += length;
+    }
+
+    /**
+     * Returns true, if the string at the current position has the given encoded content, the position is not changed.
+     */
+    private boolean nextStringEquals(byte[] expected) throws IOException {
+        checkAvailable(4);
+        if (buffer.getInt(position) != expected.length) {
+            return false;
+        }
+        checkAvailable(4 + expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(position + 4 + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipValue() throws IOException {
+        int type = readInt();
+        switch (type) {
+            case TYPE_INTEGER:
+            case TYPE_DATE:
+                checkAvailable(4);
+                position += 4;
+                break;
+            case TYPE_BOOLEAN:
+                checkAvailable(1);
+                position++;
+                break;
+            case TYPE_STRING:
+                skipString();
+                break;
+            case TYPE_DOUBLE:
+            case TYPE_INT64:
+                checkAvailable(8);
+                position += 8;
+                break;
+            case TYPE_ARRAY:
+                for (int elements = readInt(); elements > 0; elements--) {
+                    skipValue();
+                }
+                break;
+            case TYPE_STRUCT:
+                for (int members = readInt(); members > 0; members--) {
+                    skipString();
+                    skipValue();
+                }
+                break;
+            default:
+                throw new IOException("Unknown data type " + type);
+        }
+    }
+
+    /**
+     * Reads a value, the values have the same types as the values decoded by {@link BinRpcMessage}.
+     */
+    private Object readValue() throws IOException {
+        int type = readInt();
+        switch (type) {
+            case TYPE_INTEGER:
+                return Integer.valueOf(readInt());
+            case TYPE_BOOLEAN:
+                checkAvailable(1);
+                return buffer.get(position++) != 0 ? Boolean.TRUE : Boolean.FALSE;
+            case TYPE_STRING:
+                return readString();
+            case TYPE_DOUBLE:
+                int mantissa = readInt();
+                int exponent = readInt();
+                BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
+                return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
+            case TYPE_DATE:
+                return new Date(readInt() * 1000L);
+            case TYPE_INT64:
+                checkAvailable(8);
+                long value = buffer.getLong(position);
+                position += 8;
+                return Long.valueOf(value);
+            case TYPE_ARRAY:
+                int elements = readInt();
+                List<Object> array = new ArrayList<>();
+                while (elements-- > 0) {
+                    array.add(readValue());
+                }
+                return array.toArray();
+            case TYPE_STRUCT:
+                int members = readInt();
+                Map<String, Object> struct = new TreeMap<>();
+                while (members-- > 0) {
+                    String name = readString();
+                    struct.put(name, readValue());
+                }
+                return struct;
+            default:
+                throw new IOException("Unknown data type " + type);
+        }
+    }
+}
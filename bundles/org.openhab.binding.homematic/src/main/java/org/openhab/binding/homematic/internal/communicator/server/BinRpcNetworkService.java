@@ -12,32 +12,60 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import static org.openhab.binding.homematic.internal.misc.HomematicConstants.RPC_METHODNAME_EVENT;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
 import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Receives the messages of the Homematic gateway on non-blocking sockets. All connections are served by the thread
+ * that runs this service, events are decoded by the {@link BinRpcCallbackDecoder} on this thread. The listener may
+ * block, e.g. when it loads the values of a channel from the gateway, so the decoded events and all other method calls
+ * are handled by the RPC thread pool. The connection waits for the result meanwhile, the gateway receives the response
+ * after the method call was handled and the method calls of a connection are handled one after the other.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private static final int RECEIVE_BUFFER_SIZE = 8192;
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private final DecodedEvents decodedEvents = new DecodedEvents();
+    private volatile boolean accept = true;
     private HomematicConfig config;
+    private RpcEventListener listener;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private BinRpcCallbackDecoder decoder;
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,10 +73,21 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            serverChannel.close();
+            selector.close();
+            throw ex;
+        }
 
+        this.listener = listener;
+        this.decoder = new BinRpcCallbackDecoder(decodedEvents, config.getEncoding());
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
             @Override
@@ -74,30 +113,315 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Returns the port the service is listening on.
+     */
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Listening for events and handles the messages of all connections.
      */
     @Override
     public void run() {
-        while (accept) {
+        try {
+            while (accept) {
+                selector.select();
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) {
+                                connection.writeResponse();
+                                continueReading(connection);
+                            } else if (key.isReadable()) {
+                                readMessages(connection);
+                            }
+                        } catch (IOException | RuntimeException ex) {
+                            logger.warn("{}", ex.getMessage(), ex);
+                            connection.close();
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            if (accept) {
+                logger.warn("BIN-RPC server stopped: {}", ex.getMessage(), ex);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            }
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
+                selector.close();
             } catch (IOException ex) {
                 // ignore
             }
         }
     }
 
+    private void acceptConnection() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    /**
+     * Reads from the connection and handles all messages that were received completely.
+     */
+    private void readMessages(Connection connection) throws IOException {
+        if (connection.channel.read(connection.receiveBuffer) < 0) {
+            connection.close();
+            return;
+        }
+        handleMessages(connection);
+    }
+
+    private void handleMessages(Connection connection) throws IOException {
+        ByteBuffer buffer = connection.receiveBuffer;
+        int requiredCapacity = 0;
+        buffer.flip();
+        try {
+            while (!connection.isBusy()) {
+                int length = BinRpcCallbackDecoder.getMessageLength(buffer);
+                if (length < 0) {
+                    break;
+                }
+                if (length > MAX_MESSAGE_LENGTH) {
+                    throw new IOException("BIN-RPC message with " + length + " bytes is too large");
+                }
+                if (buffer.remaining() < length) {
+                    requiredCapacity = length;
+                    break;
+                }
+                handleMessage(connection, buffer, length);
+                buffer.position(buffer.position() + length);
+            }
+        } finally {
+            buffer.compact();
+        }
+        if (requiredCapacity > buffer.capacity()) {
+            ByteBuffer largerBuffer = ByteBuffer.allocate(requiredCapacity);
+            buffer.flip();
+            largerBuffer.put(buffer);
+            connection.receiveBuffer = largerBuffer;
+        }
+    }
+
+    /**
+     * Handles the message at the position of the buffer, events are decoded right away and passed to the listener by
+     * the RPC thread pool, all other method calls are decoded and handled by the RPC thread pool.
+     */
+    private void handleMessage(Connection connection, ByteBuffer buffer, int length) throws IOException {
+        decodedEvents.clear();
+        String methodName = decoder.decodeEvents(buffer, buffer.position(), length);
+        if (methodName != null) {
+            logger.trace("Event BinRpcMessage: {}", methodName);
+            List<HmDatapointInfo> dpInfos = decodedEvents.dpInfos;
+            List<Object> values = decodedEvents.values;
+            decodedEvents.dpInfos = new ArrayList<>();
+            decodedEvents.values = new ArrayList<>();
+            byte[] response = RPC_METHODNAME_EVENT.equals(methodName) ? rpcResponseHandler.getEmptyStringResult()
+                    : rpcResponseHandler.getEmptyEventListResult();
+            handleMethodCall(connection, () -> {
+                for (int i = 0; i < dpInfos.size(); i++) {
+                    listener.eventReceived(dpInfos.get(i), values.get(i));
+                }
+                return response;
+            });
+            return;
+        }
+
+        byte[] messageData = new byte[length];
+        System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position(), messageData, 0, length);
+        handleMethodCall(connection, () -> {
+            BinRpcMessage message = new BinRpcMessage(messageData, true, config.getEncoding());
+            logger.trace("Event BinRpcMessage: {}", message);
+            return rpcResponseHandler.handleMethodCall(message.getMethodName(), message.getResponseData());
+        });
+    }
+
+    /**
+     * Handles a method call by the RPC thread pool, the connection does not read further messages until the response
+     * was sent.
+     */
+    private void handleMethodCall(Connection connection, Callable<byte[]> methodCall) {
+        connection.setBusy(true);
+        ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> {
+            byte[] returnValue = null;
+            boolean failed = false;
+            try {
+                returnValue = methodCall.call();
+            } catch (Exception e) {
+                logger.warn("{}", e.getMessage(), e);
+                failed = true;
+            }
+            byte[] response = returnValue;
+            boolean close = failed;
+            selectorTasks.add(() -> completeMethodCall(connection, response, close));
+            selector.wakeup();
+        });
+    }
+
+    private void completeMethodCall(Connection connection, byte[] response, boolean close) {
+        if (close) {
+            connection.close();
+            return;
+        }
+        try {
+            connection.setBusy(false);
+            connection.sendResponse(response);
+            continueReading(connection);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("{}", ex.getMessage(), ex);
+            connection.close();
+        }
+    }
+
+    /**
+     * Handles the messages that were received while the connection was busy.
+     */
+    private void continueReading(Connection connection) throws IOException {
+        if (!connection.isBusy() && connection.receiveBuffer.position() > 0) {
+            handleMessages(connection);
+        }
+    }
+
     /**
      * Stops the listening.
      */
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
+    }
+
+    /**
+     * Collects the events of the message decoded by the {@link BinRpcCallbackDecoder}.
+     */
+    private static class DecodedEvents implements RpcEventListener {
+        private List<HmDatapointInfo> dpInfos = new ArrayList<>();
+        private List<Object> values = new ArrayList<>();
+
+        @Override
+        public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+            dpInfos.add(dpInfo);
+            values.add(newValue);
+        }
+
+        @Override
+        public void newDevices(List<String> adresses) {
+            // not decoded by the BinRpcCallbackDecoder
+        }
+
+        @Override
+        public void deleteDevices(List<String> addresses) {
+            // not decoded by the BinRpcCallbackDecoder
+        }
+
+        void clear() {
+            dpInfos.clear();
+            values.clear();
+        }
+    }
+
+    /**
+     * The state of a connection from the Homematic gateway. The gateway waits for the response to a method call before
+     * it sends the next one, so there is at most one response pending.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final long created = System.currentTimeMillis();
+        private SelectionKey key;
+        private ByteBuffer receiveBuffer = ByteBuffer.allocate(RECEIVE_BUFFER_SIZE);
+        private ByteBuffer response;
+        private boolean busy;
+        private boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        boolean isBusy() {
+            return busy || closed || response != null;
+        }
+
+        /**
+         * Marks the connection as waiting for the result of a method call, no messages are read meanwhile.
+         */
+        void setBusy(boolean busy) {
+            this.busy = busy;
+            updateInterest();
+        }
+
+        void sendResponse(byte[] data) throws IOException {
+            if (data != null) {
+                response = ByteBuffer.wrap(data);
+            }
+            writeResponse();
+        }
+
+        /**
+         * Writes the pending response, the connection is closed after the response if it reached its maximum age.
+         */
+        void writeResponse() throws IOException {
+            ByteBuffer response = this.response;
+            if (response != null) {
+                channel.write(response);
+                if (response.hasRemaining()) {
+                    updateInterest();
+                    return;
+                }
+                this.response = null;
+            }
+            if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000)) {
+                close();
+                return;
+            }
+            updateInterest();
+        }
+
+        private void updateInterest() {
+            if (key.isValid()) {
+                key.interestOps(response != null ? SelectionKey.OP_WRITE : busy ? 0 : SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            closed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                // ignore
+            }
+        }
     }
 }
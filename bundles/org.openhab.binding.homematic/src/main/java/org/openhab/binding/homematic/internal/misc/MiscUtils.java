@@ -12,6 +12,9 @@
  */
 package org.openhab.binding.homematic.internal.misc;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +25,7 @@ import org.slf4j.LoggerFactory;
  */
 public class MiscUtils {
     private static final Logger logger = LoggerFactory.getLogger(MiscUtils.class);
+    private static final Pattern INVALID_CHARACTERS = Pattern.compile("[^A-Za-z0-9_-]");
 
     /**
      * Replaces invalid characters of the text to fit into a openHAB UID.
@@ -30,10 +34,13 @@ public class MiscUtils {
         if (text == null) {
             return "EMPTY";
         }
-        String cleanedText = text.replaceAll("[^A-Za-z0-9_-]", replaceChar);
-        if (!text.equals(cleanedText)) {
-            logger.info("{} '{}' contains invalid characters, new {} '{}'", textType, text, textType, cleanedText);
+        // called for every event, so the common case of a valid text must not create a new string
+        Matcher matcher = INVALID_CHARACTERS.matcher(text);
+        if (!matcher.find()) {
+            return text;
         }
+        String cleanedText = matcher.replaceAll(replaceChar);
+        logger.info("{} '{}' contains invalid characters, new {} '{}'", textType, text, textType, cleanedText);
         return cleanedText;
     }
 
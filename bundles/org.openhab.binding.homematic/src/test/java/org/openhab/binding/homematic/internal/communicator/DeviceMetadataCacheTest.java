@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.misc.HomematicConstants;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link DeviceMetadataCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceMetadataCacheTest {
+    private static final String GATEWAY_FIRMWARE = "3.61.7";
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private HmDevice createDevice(String address, String firmware, String... channelTypes) {
+        HmDevice device = new HmDevice(address, HmInterface.RF, "HM-LC-Dim1-Pl3", "CCU", "", firmware);
+        for (int i = 0; i < channelTypes.length; i++) {
+            device.addChannel(new HmChannel(channelTypes[i], i));
+        }
+        return device;
+    }
+
+    private void addLevelDatapoint(HmChannel channel) {
+        HmDatapoint dp = new HmDatapoint(HomematicConstants.DATAPOINT_NAME_LEVEL, "LEVEL", HmValueType.FLOAT, 0.0,
+                false, HmParamsetType.VALUES);
+        dp.setMinValue(0.0f);
+        dp.setMaxValue(1.01);
+        dp.setDefaultValue(0.0);
+        dp.setUnit("100%");
+        dp.setReadable(true);
+        channel.addDatapoint(dp);
+    }
+
+    private DeviceMetadataCache storeDimmer(Path file) {
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load(GATEWAY_FIRMWARE);
+        HmDevice device = createDevice("ABC0000001", "2.9", "MAINTENANCE", "DIMMER");
+        for (HmChannel channel : device.getChannels()) {
+            addLevelDatapoint(channel);
+            cache.storeChannel(channel);
+        }
+        cache.setChannelLoadMillis(150);
+        cache.save();
+        return cache;
+    }
+
+    @Test
+    public void datapointsOfSameTypeAndFirmwareAreRestored() {
+        Path file = tempDir.resolve("metadata.json");
+        storeDimmer(file);
+
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load(GATEWAY_FIRMWARE);
+        HmDevice otherDevice = createDevice("ABC0000002", "2.9", "MAINTENANCE", "DIMMER");
+        HmChannel channel = otherDevice.getChannel(1);
+
+        assertTrue(cache.restoreChannel(channel));
+        HmDatapoint dp = channel.getDatapoint(HmParamsetType.VALUES, HomematicConstants.DATAPOINT_NAME_LEVEL);
+        assertNotNull(dp);
+        assertSame(channel, dp.getChannel());
+        assertEquals(HmValueType.FLOAT, dp.getType());
+        assertEquals(Float.valueOf(0.0f), dp.getMinValue());
+        assertEquals(Double.valueOf(1.01), dp.getMaxValue());
+        assertEquals(Double.valueOf(0.0), dp.getDefaultValue());
+        assertEquals("100%", dp.getUnit());
+        assertTrue(dp.isReadable());
+        assertFalse(dp.isReadOnly());
+        assertEquals(150.0, cache.getChannelLoadMillis());
+    }
+
+    @Test
+    public void otherFirmwareOrChannelLayoutIsNotRestored() {
+        Path file = tempDir.resolve("metadata.json");
+        storeDimmer(file);
+
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load(GATEWAY_FIRMWARE);
+        HmDevice newFirmware = createDevice("ABC0000002", "3.0", "MAINTENANCE", "DIMMER");
+        assertFalse(cache.restoreChannel(newFirmware.getChannel(1)));
+
+        HmDevice otherLayout = createDevice("ABC0000003", "2.9", "MAINTENANCE", "DIMMER", "VIRTUAL_DIMMER");
+        assertFalse(cache.restoreChannel(otherLayout.getChannel(1)));
+        // the entry that does not match the device anymore was dropped
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void cacheIsDiscardedIfGatewayFirmwareChanged() {
+        Path file = tempDir.resolve("metadata.json");
+        storeDimmer(file);
+
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load("3.63.8");
+        assertEquals(0, cache.size());
+        assertFalse(cache.restoreChannel(createDevice("ABC0000002", "2.9", "MAINTENANCE", "DIMMER").getChannel(1)));
+    }
+
+    @Test
+    public void reconfigurableChannelsAreNotCached() {
+        Path file = tempDir.resolve("metadata.json");
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load(GATEWAY_FIRMWARE);
+        HmDevice device = createDevice("ABC0000001", "2.9", "MAINTENANCE", "MULTI_MODE_INPUT_TRANSMITTER");
+        HmChannel channel = device.getChannel(1);
+        channel.addDatapoint(new HmDatapoint(HomematicConstants.DATAPOINT_NAME_CHANNEL_FUNCTION, "CHANNEL_FUNCTION",
+                HmValueType.INTEGER, 1, false, HmParamsetType.MASTER));
+        cache.storeChannel(device.getChannel(0));
+        cache.storeChannel(channel);
+        cache.save();
+
+        cache.load(GATEWAY_FIRMWARE);
+        HmDevice otherDevice = createDevice("ABC0000002", "2.9", "MAINTENANCE", "MULTI_MODE_INPUT_TRANSMITTER");
+        assertTrue(cache.restoreChannel(otherDevice.getChannel(0)));
+        assertFalse(cache.restoreChannel(otherDevice.getChannel(1)));
+    }
+
+    @Test
+    public void unusedDeviceTypesAreRemovedOnSave() {
+        Path file = tempDir.resolve("metadata.json");
+        storeDimmer(file);
+
+        DeviceMetadataCache cache = new DeviceMetadataCache(file);
+        cache.load(GATEWAY_FIRMWARE);
+        cache.save();
+
+        cache.load(GATEWAY_FIRMWARE);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void valuesKeepTheirType() {
+        for (Object value : new Object[] { Boolean.TRUE, 7, 7L, 1.5f, 1.5, "text", "I:not an integer" }) {
+            assertEquals(value, DeviceMetadataCache.decodeValue(DeviceMetadataCache.encodeValue(value)));
+        }
+        assertNull(DeviceMetadataCache.decodeValue(DeviceMetadataCache.encodeValue(null)));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.openhab.binding.homematic.test.util.BinRpcEventBurst;
+
+/**
+ * Compares the time and the allocated memory it takes to pass the events of a burst to the listener with the
+ * {@link BinRpcCallbackDecoder} and with the BinRpcMessage that was used before. It is not run by the build, start it
+ * with the number of devices of the burst as optional argument:
+ *
+ * <pre>
+ * java -cp ... org.openhab.binding.homematic.internal.communicator.server.BinRpcCallbackDecoderBenchmark 250
+ * </pre>
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcCallbackDecoderBenchmark {
+    private static final Charset ENCODING = StandardCharsets.ISO_8859_1;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 500;
+
+    private interface BurstDecoder {
+        void decode(byte[] message) throws Exception;
+    }
+
+    private static class CountingListener implements RpcEventListener {
+        private long events;
+
+        @Override
+        public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+            events++;
+        }
+
+        @Override
+        public void newDevices(List<String> adresses) {
+        }
+
+        @Override
+        public void deleteDevices(List<String> addresses) {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int devices = args.length > 0 ? Integer.parseInt(args[0]) : 250;
+        List<byte[]> burst = BinRpcEventBurst.create(devices, ENCODING);
+        int bytes = burst.stream().mapToInt(message -> message.length).sum();
+        System.out.printf("Burst of %d devices: %d messages, %d events, %d bytes%n", devices, burst.size(),
+                BinRpcEventBurst.getEventCount(devices), bytes);
+
+        CountingListener binRpcMessageListener = new CountingListener();
+        run("BinRpcMessage", burst, binRpcMessageListener,
+                message -> BinRpcCallbackDecoderTest.decodeWithBinRpcMessage(message, binRpcMessageListener));
+
+        CountingListener decoderListener = new CountingListener();
+        BinRpcCallbackDecoder decoder = new BinRpcCallbackDecoder(decoderListener, ENCODING);
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        run("BinRpcCallbackDecoder", burst, decoderListener, message -> {
+            // like the network service, the messages are decoded from the receive buffer of the connection
+            buffer.clear();
+            buffer.put(message).flip();
+            decoder.decodeEvents(buffer, 0, BinRpcCallbackDecoder.getMessageLength(buffer));
+        });
+    }
+
+    private static void run(String name, List<byte[]> burst, CountingListener listener, BurstDecoder decoder)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            decodeBurst(burst, decoder);
+        }
+        listener.events = 0;
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = getAllocatedBytes(threadBean);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            decodeBurst(burst, decoder);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = getAllocatedBytes(threadBean) - allocatedBefore;
+
+        System.out.printf("%-22s %8.1f us per burst, %6.0f ns and %6d bytes allocated per event%n", name,
+                nanos / 1000.0 / ROUNDS, (double) nanos / listener.events,
+                allocated < 0 ? -1 : allocated / listener.events);
+    }
+
+    private static void decodeBurst(List<byte[]> burst, BurstDecoder decoder) throws Exception {
+        for (byte[] message : burst) {
+            decoder.decode(message);
+        }
+    }
+
+    private static long getAllocatedBytes(ThreadMXBean threadBean) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
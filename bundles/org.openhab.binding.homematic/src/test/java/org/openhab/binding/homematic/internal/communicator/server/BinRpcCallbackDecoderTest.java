@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.openhab.binding.homematic.test.util.BinRpcEventBurst;
+
+/**
+ * Tests for {@link BinRpcCallbackDecoder} and the {@link BinRpcNetworkService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcCallbackDecoderTest {
+    private static final Charset ENCODING = StandardCharsets.ISO_8859_1;
+
+    /**
+     * Records the received events and device changes.
+     */
+    private static class RecordingListener implements RpcEventListener {
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch blockedEventsReleased = new CountDownLatch(1);
+        private String blockedAddress = "";
+
+        @Override
+        public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+            if (blockedAddress.equals(dpInfo.getAddress())) {
+                try {
+                    blockedEventsReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String className = newValue == null ? "null" : newValue.getClass().getSimpleName();
+            received.add(dpInfo + "=" + className + ":" + newValue);
+        }
+
+        @Override
+        public void newDevices(List<String> adresses) {
+            received.add("new " + adresses);
+        }
+
+        @Override
+        public void deleteDevices(List<String> addresses) {
+            received.add("delete " + addresses);
+        }
+
+        private List<String> drain() {
+            List<String> events = new ArrayList<>();
+            received.drainTo(events);
+            return events;
+        }
+    }
+
+    private final RecordingListener listener = new RecordingListener();
+    private final BinRpcCallbackDecoder decoder = new BinRpcCallbackDecoder(listener, ENCODING);
+
+    private String decode(byte[] message) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(message.length + 3);
+        // the message does not have to start at the beginning of the buffer
+        buffer.put(new byte[3]).put(message).flip().position(3);
+        assertEquals(message.length, BinRpcCallbackDecoder.getMessageLength(buffer));
+        return decoder.decodeEvents(buffer, 3, message.length);
+    }
+
+    /**
+     * Passes the message to the listener the way the events were handled before the {@link BinRpcCallbackDecoder}.
+     */
+    static void decodeWithBinRpcMessage(byte[] data, RpcEventListener listener) throws Exception {
+        BinRpcMessage message = new BinRpcMessage(data, true, ENCODING);
+        new RpcResponseHandler<byte[]>(listener) {
+            @Override
+            protected byte[] getEmptyStringResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyArrayResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyEventListResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected RpcRequest<byte[]> createRpcRequest() {
+                return new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+            }
+        }.handleMethodCall(message.getMethodName(), message.getResponseData());
+    }
+
+    @Test
+    public void eventsAreDecodedLikeBinRpcMessage() throws Exception {
+        List<byte[]> burst = BinRpcEventBurst.create(20, ENCODING);
+        RecordingListener expectedListener = new RecordingListener();
+        for (byte[] message : burst) {
+            decodeWithBinRpcMessage(message, expectedListener);
+            assertNotNull(decode(message));
+        }
+        List<String> expected = expectedListener.drain();
+        assertEquals(BinRpcEventBurst.getEventCount(20), expected.size());
+        assertEquals(expected, listener.drain());
+    }
+
+    @Test
+    public void singleEvent() throws IOException {
+        byte[] message = BinRpcEventBurst
+                .createEvent(List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000001:1", "LEVEL", 0.5), ENCODING);
+
+        assertEquals(RPC_METHODNAME_EVENT, decode(message));
+        assertEquals(List.of("NEQ0000001:1#LEVEL=Double:0.5"), listener.drain());
+    }
+
+    @Test
+    public void multicallWithParamsBeforeMethodName() throws IOException {
+        Map<String, Object> call = new LinkedHashMap<>();
+        call.put("params", List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000001:0", "UNREACH", Boolean.TRUE));
+        call.put("methodName", "event");
+        byte[] message = BinRpcEventBurst.createMulticall(List.of(call), ENCODING);
+
+        assertEquals(RPC_METHODNAME_SYSTEM_MULTICALL, decode(message));
+        assertEquals(1, listener.drain().size());
+    }
+
+    @Test
+    public void otherMethodCallsAreNotDecoded() throws IOException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("methodName", "event");
+        event.put("params", List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000001:0", "UNREACH", Boolean.TRUE));
+        Map<String, Object> newDevices = new LinkedHashMap<>();
+        newDevices.put("methodName", "newDevices");
+        newDevices.put("params", List.of(BinRpcEventBurst.INTERFACE_ID, List.of()));
+        byte[] multicall = BinRpcEventBurst.createMulticall(List.of(event, newDevices), ENCODING);
+        BinRpcMessage listDevices = new BinRpcMessage(RPC_METHODNAME_LIST_DEVICES, ENCODING);
+        listDevices.addArg(BinRpcEventBurst.INTERFACE_ID);
+
+        assertNull(decode(multicall));
+        assertNull(decode(listDevices.createMessage()));
+        // no event of a multicall is passed on if it can't be decoded completely
+        assertEquals(List.of(), listener.drain());
+    }
+
+    @Test
+    public void malformedMessages() throws IOException {
+        byte[] message = BinRpcEventBurst
+                .createEvent(List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000001:1", "LEVEL", 0.5), ENCODING);
+        byte[] truncated = Arrays.copyOf(message, message.length - 4);
+        assertThrows(IOException.class, () -> decoder.decodeEvents(ByteBuffer.wrap(truncated), 0, truncated.length));
+
+        ByteBuffer noSignature = ByteBuffer.wrap(new byte[] { 'X', 'M', 'L', 0, 0, 0, 0, 0 });
+        assertThrows(IOException.class, () -> BinRpcCallbackDecoder.getMessageLength(noSignature));
+        assertEquals(-1, BinRpcCallbackDecoder.getMessageLength(ByteBuffer.wrap(message, 0, 7)));
+    }
+
+    @Test
+    public void networkServiceRespondsToEventsAndOtherMethodCalls() throws Exception {
+        HomematicConfig config = new HomematicConfig();
+        config.setBinCallbackPort(0);
+        config.setSocketMaxAlive(60);
+        BinRpcNetworkService networkService = new BinRpcNetworkService(listener, config);
+        Thread thread = new Thread(networkService);
+        thread.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), networkService.getLocalPort())) {
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+
+            List<byte[]> burst = BinRpcEventBurst.create(10, ENCODING);
+            for (byte[] message : burst) {
+                // send the message in two parts to check that incomplete messages are buffered
+                out.write(message, 0, 10);
+                out.flush();
+                out.write(message, 10, message.length - 10);
+                out.flush();
+                BinRpcMessage response = new BinRpcMessage(in, false, ENCODING);
+                assertNotNull(response.getResponseData());
+            }
+            List<String> events = new ArrayList<>();
+            while (events.size() < BinRpcEventBurst.getEventCount(10)) {
+                String event = listener.received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event);
+                events.add(event);
+            }
+
+            BinRpcMessage deleteDevices = new BinRpcMessage(RPC_METHODNAME_DELETE_DEVICES, ENCODING);
+            deleteDevices.addArg(BinRpcEventBurst.INTERFACE_ID);
+            deleteDevices.addArg(List.of("NEQ0000001", "NEQ0000002"));
+            out.write(deleteDevices.createMessage());
+            out.flush();
+            new BinRpcMessage(in, false, ENCODING);
+            assertEquals("delete [NEQ0000001, NEQ0000002]", listener.received.poll(5, TimeUnit.SECONDS));
+        } finally {
+            networkService.shutdown();
+            thread.join(5000);
+        }
+    }
+
+    @Test
+    public void blockingListenerDelaysOnlyTheResponseOfItsConnection() throws Exception {
+        HomematicConfig config = new HomematicConfig();
+        config.setBinCallbackPort(0);
+        config.setSocketMaxAlive(60);
+        listener.blockedAddress = "NEQ0000001";
+        BinRpcNetworkService networkService = new BinRpcNetworkService(listener, config);
+        Thread thread = new Thread(networkService);
+        thread.start();
+        try (Socket blockedSocket = new Socket(InetAddress.getLoopbackAddress(), networkService.getLocalPort());
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), networkService.getLocalPort())) {
+            blockedSocket.getOutputStream().write(BinRpcEventBurst
+                    .createEvent(List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000001:1", "LEVEL", 0.5), ENCODING));
+            socket.getOutputStream().write(BinRpcEventBurst
+                    .createEvent(List.of(BinRpcEventBurst.INTERFACE_ID, "NEQ0000002:1", "LEVEL", 1.0), ENCODING));
+
+            // the other connection is served while the listener is blocked
+            new BinRpcMessage(socket.getInputStream(), false, ENCODING);
+            assertEquals("NEQ0000002:1#LEVEL=Double:1.0", listener.received.poll(5, TimeUnit.SECONDS));
+            // the gateway receives the response after the event was handled
+            assertEquals(0, blockedSocket.getInputStream().available());
+
+            listener.blockedEventsReleased.countDown();
+            new BinRpcMessage(blockedSocket.getInputStream(), false, ENCODING);
+            assertEquals("NEQ0000001:1#LEVEL=Double:0.5", listener.received.poll(5, TimeUnit.SECONDS));
+        } finally {
+            networkService.shutdown();
+            thread.join(5000);
+        }
+    }
+}
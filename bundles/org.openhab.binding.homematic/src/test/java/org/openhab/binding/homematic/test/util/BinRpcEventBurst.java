@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.test.util;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+
+/**
+ * Creates the BIN-RPC messages a CCU sends in a burst of events, e.g. when the devices report their state after the
+ * duty cycle of the radio module recovered. The burst follows the pattern of a recorded burst: the events are bundled
+ * in system.multicall messages, some devices send single event messages, and each device reports its reachability,
+ * signal strength and the values of its channels.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcEventBurst {
+    public static final String INTERFACE_ID = "openHAB-ccu-BidCos-RF";
+    public static final int EVENTS_PER_MULTICALL = 10;
+
+    /**
+     * Returns the messages of a burst with the events of the given number of devices.
+     */
+    public static List<byte[]> create(int devices, Charset encoding) {
+        List<byte[]> messages = new ArrayList<>();
+        List<Object> multicall = new ArrayList<>();
+        for (int i = 0; i < devices; i++) {
+            String address = String.format("NEQ%07d", i);
+            List<List<Object>> events = new ArrayList<>();
+            events.add(List.of(INTERFACE_ID, address + ":0", "UNREACH", Boolean.FALSE));
+            events.add(List.of(INTERFACE_ID, address + ":0", "RSSI_DEVICE", -60 - i % 30));
+            events.add(List.of(INTERFACE_ID, address + ":0", "CONFIG_PENDING", Boolean.FALSE));
+            events.add(List.of(INTERFACE_ID, address + ":1", "LEVEL", (i % 101) / 100.0));
+            events.add(List.of(INTERFACE_ID, address + ":1", "WORKING", Boolean.FALSE));
+            events.add(List.of(INTERFACE_ID, address + ":2", "ACTUAL_TEMPERATURE", 18.5 + i % 7));
+            events.add(List.of(INTERFACE_ID, address + ":2", "CONTROL_MODE", i % 4));
+
+            if (i % 5 == 0) {
+                // some devices are reported with single event messages
+                for (List<Object> event : events) {
+                    messages.add(createEvent(event, encoding));
+                }
+                continue;
+            }
+            for (List<Object> event : events) {
+                Map<String, Object> call = new LinkedHashMap<>();
+                call.put("methodName", "event");
+                call.put("params", event);
+                multicall.add(call);
+                if (multicall.size() == EVENTS_PER_MULTICALL) {
+                    messages.add(createMulticall(multicall, encoding));
+                    multicall.clear();
+                }
+            }
+        }
+        if (!multicall.isEmpty()) {
+            messages.add(createMulticall(multicall, encoding));
+        }
+        return messages;
+    }
+
+    /**
+     * Returns the number of events in the messages created by {@link #create(int, Charset)}.
+     */
+    public static int getEventCount(int devices) {
+        return devices * 7;
+    }
+
+    public static byte[] createEvent(List<Object> params, Charset encoding) {
+        BinRpcMessage message = new BinRpcMessage("event", encoding);
+        for (Object param : params) {
+            message.addArg(param);
+        }
+        return message.createMessage();
+    }
+
+    public static byte[] createMulticall(List<Object> calls, Charset encoding) {
+        BinRpcMessage message = new BinRpcMessage("system.multicall", encoding);
+        message.addArg(calls);
+        return message.createMessage();
+    }
+}
@@ -20,8 +20,10 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -29,7 +31,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
-import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.util.BasicAuthentication;
 import org.eclipse.jetty.client.util.DigestAuthentication;
 import org.eclipse.jetty.client.util.StringContentProvider;
@@ -52,6 +53,7 @@ import org.openhab.binding.http.internal.http.HttpAuthException;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
 import org.openhab.binding.http.internal.transform.ValueTransformationProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -67,6 +69,7 @@ import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.io.metrics.BindingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,21 +89,28 @@ public class HttpThingHandler extends BaseThingHandler {
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final RefreshingUrlCacheRegistry urlCacheRegistry;
+    private final @Nullable BindingMetrics bindingMetrics;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
+    private final Map<String, String> sharedUrlHandlerKeys = new HashMap<>();
+    private final Map<ChannelUID, Consumer<Content>> stateConsumers = new HashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            RefreshingUrlCacheRegistry urlCacheRegistry, @Nullable BindingMetrics bindingMetrics) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
+        this.bindingMetrics = bindingMetrics;
     }
 
     @Override
@@ -126,6 +136,12 @@ public class HttpThingHandler extends BaseThingHandler {
         } else {
             try {
                 itemValueConverter.send(command);
+                // the state of the channel is not necessarily in sync with the last refresh anymore
+                String key = channelUrls.get(channelUID);
+                RefreshingUrlCache refreshingUrlCache = key != null ? urlHandlers.get(key) : null;
+                if (refreshingUrlCache != null) {
+                    refreshingUrlCache.forceNextDispatch();
+                }
             } catch (IllegalArgumentException e) {
                 logger.warn("Failed to convert command '{}' to channel '{}' for sending", command, channelUID);
             } catch (IllegalStateException e) {
@@ -154,6 +170,11 @@ public class HttpThingHandler extends BaseThingHandler {
         }
         rateLimitedHttpClient.setHttpClient(httpClient);
         rateLimitedHttpClient.setDelay(config.delay);
+        rateLimitedHttpClient.setMaxConcurrentRequests(config.maxConcurrentRequests);
+        BindingMetrics bindingMetrics = this.bindingMetrics;
+        if (bindingMetrics != null) {
+            rateLimitedHttpClient.setMetrics(bindingMetrics, thing.getUID());
+        }
 
         int channelCount = thing.getChannels().size();
         if (channelCount * config.delay > config.refresh * 1000) {
@@ -208,12 +229,32 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        // stop update tasks, shared tasks are only stopped if no other thing uses them
+        stateConsumers.forEach((channelUID, consumer) -> {
+            String key = channelUrls.get(channelUID);
+            RefreshingUrlCache refreshingUrlCache = key != null ? urlHandlers.get(key) : null;
+            if (refreshingUrlCache != null) {
+                refreshingUrlCache.removeConsumer(consumer);
+            }
+        });
+        urlHandlers.forEach((key, refreshingUrlCache) -> {
+            String sharedKey = sharedUrlHandlerKeys.get(key);
+            if (sharedKey != null) {
+                urlCacheRegistry.release(sharedKey);
+            } else {
+                refreshingUrlCache.stop();
+            }
+        });
         rateLimitedHttpClient.shutdown();
+        BindingMetrics bindingMetrics = this.bindingMetrics;
+        if (bindingMetrics != null) {
+            bindingMetrics.removeMeters(thing.getUID());
+        }
 
         // clear lists
         urlHandlers.clear();
+        sharedUrlHandlerKeys.clear();
+        stateConsumers.clear();
         channels.clear();
         channelUrls.clear();
 
@@ -292,11 +333,10 @@ public class HttpThingHandler extends BaseThingHandler {
             // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
-            urlHandlers
-                    .computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                                    channelConfig.escapedUrl, config, channelConfig.stateContent))
-                    .addConsumer(itemValueConverter::process);
+            Consumer<Content> stateConsumer = itemValueConverter::process;
+            stateConsumers.put(channelUID, stateConsumer);
+            urlHandlers.computeIfAbsent(key, k -> createRefreshingUrlCache(k, stateUrl, channelConfig))
+                    .addConsumer(stateConsumer);
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -307,6 +347,42 @@ public class HttpThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * create the cache for a state URL, it is shared with other things if the requests are not rate-limited
+     *
+     * @param key the key of the cache in this thing
+     * @param stateUrl the state URL
+     * @param channelConfig the configuration of the (first) channel using the state URL
+     * @return the cache
+     */
+    private RefreshingUrlCache createRefreshingUrlCache(String key, String stateUrl, HttpChannelConfig channelConfig) {
+        if (config.delay > 0) {
+            // the rate limit applies to all requests of this thing, so the requests can't be shared
+            return new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl, channelConfig.escapedUrl, config,
+                    channelConfig.stateContent);
+        }
+        String sharedKey = String.join("$", key, String.valueOf(channelConfig.escapedUrl),
+                config.stateMethod.asString(), String.valueOf(config.refresh), String.valueOf(config.timeout),
+                String.valueOf(config.bufferSize), String.valueOf(config.maxConcurrentRequests),
+                String.valueOf(config.encoding), String.valueOf(config.ignoreSSLErrors),
+                String.valueOf(config.skipUnchangedContent), config.authMode.name(), config.username,
+                config.password, String.join("\n", config.headers));
+        sharedUrlHandlerKeys.put(key, sharedKey);
+        HttpClient sharedHttpClient = httpClient;
+        HttpThingConfig sharedConfig = config;
+        BindingMetrics bindingMetrics = this.bindingMetrics;
+        return urlCacheRegistry.acquire(sharedKey, bindingMetrics, metricsUID -> {
+            // shut down by the registry when the last thing released the cache
+            RateLimitedHttpClient sharedRateLimitedHttpClient = new RateLimitedHttpClient(sharedHttpClient, scheduler);
+            sharedRateLimitedHttpClient.setMaxConcurrentRequests(sharedConfig.maxConcurrentRequests);
+            if (bindingMetrics != null) {
+                sharedRateLimitedHttpClient.setMetrics(bindingMetrics, metricsUID);
+            }
+            return new RefreshingUrlCache(scheduler, sharedRateLimitedHttpClient, stateUrl, channelConfig.escapedUrl,
+                    sharedConfig, channelConfig.stateContent);
+        });
+    }
+
     private void sendHttpValue(String commandUrl, boolean escapedUrl, String command) {
         sendHttpValue(commandUrl, escapedUrl, command, false);
     }
@@ -317,51 +393,60 @@ public class HttpThingHandler extends BaseThingHandler {
             String url = String.format(commandUrl, new Date(), command);
             URI uri = escapedUrl ? new URI(url) : Util.uriFromString(url);
 
-            // build request
-            Request request = httpClient.newRequest(uri).timeout(config.timeout, TimeUnit.MILLISECONDS)
-                    .method(config.commandMethod);
-            if (config.commandMethod != HttpMethod.GET) {
-                final String contentType = config.contentType;
-                if (contentType != null) {
-                    request.content(new StringContentProvider(command), contentType);
-                } else {
-                    request.content(new StringContentProvider(command));
+            // build request, commands are created before pending refreshes
+            rateLimitedHttpClient.newRequest(uri, config.commandMethod, "", true, config.timeout, request -> {
+                request.timeout(config.timeout, TimeUnit.MILLISECONDS);
+                if (config.commandMethod != HttpMethod.GET) {
+                    final String contentType = config.contentType;
+                    if (contentType != null) {
+                        request.content(new StringContentProvider(command), contentType);
+                    } else {
+                        request.content(new StringContentProvider(command));
+                    }
                 }
-            }
 
-            config.headers.forEach(header -> {
-                String[] keyValuePair = header.split("=", 2);
-                if (keyValuePair.length == 2) {
-                    request.header(keyValuePair[0], keyValuePair[1]);
-                } else {
-                    logger.warn("Splitting header '{}' failed. No '=' was found. Ignoring", header);
-                }
-            });
+                config.headers.forEach(header -> {
+                    String[] keyValuePair = header.split("=", 2);
+                    if (keyValuePair.length == 2) {
+                        request.header(keyValuePair[0], keyValuePair[1]);
+                    } else {
+                        logger.warn("Splitting header '{}' failed. No '=' was found. Ignoring", header);
+                    }
+                });
 
-            if (logger.isTraceEnabled()) {
-                logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
-            }
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                }
 
-            CompletableFuture<@Nullable Content> f = new CompletableFuture<>();
-            f.exceptionally(e -> {
-                if (e instanceof HttpAuthException) {
-                    if (isRetry) {
-                        logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
-                    } else {
-                        AuthenticationStore authStore = httpClient.getAuthenticationStore();
-                        Authentication.Result authResult = authStore.findAuthenticationResult(uri);
-                        if (authResult != null) {
-                            authStore.removeAuthenticationResult(authResult);
-                            logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                            sendHttpValue(commandUrl, escapedUrl, command, true);
+                CompletableFuture<@Nullable Content> f = new CompletableFuture<>();
+                f.exceptionally(e -> {
+                    if (e instanceof HttpAuthException) {
+                        if (isRetry) {
+                            logger.warn("Retry after authentication failure failed again for '{}', failing here",
+                                    uri);
                         } else {
-                            logger.warn("Could not find authentication result for '{}', failing here", uri);
+                            AuthenticationStore authStore = httpClient.getAuthenticationStore();
+                            Authentication.Result authResult = authStore.findAuthenticationResult(uri);
+                            if (authResult != null) {
+                                authStore.removeAuthenticationResult(authResult);
+                                logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
+                                sendHttpValue(commandUrl, escapedUrl, command, true);
+                            } else {
+                                logger.warn("Could not find authentication result for '{}', failing here", uri);
+                            }
                         }
                     }
+                    return null;
+                });
+                request.send(new HttpResponseListener(f, null, config.bufferSize));
+            }).exceptionally(e -> {
+                if (e instanceof CancellationException) {
+                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                } else {
+                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                 }
                 return null;
             });
-            request.send(new HttpResponseListener(f, null, config.bufferSize));
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", commandUrl, e.getMessage());
         }
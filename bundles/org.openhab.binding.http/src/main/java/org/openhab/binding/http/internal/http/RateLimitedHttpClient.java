@@ -13,13 +13,22 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,22 +37,48 @@ import org.eclipse.jetty.client.api.AuthenticationStore;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.io.metrics.BindingMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
  * the request creation
  *
+ * Requests are queued in two lanes, requests in the priority lane (e.g. commands) are always created before the
+ * requests in the normal lane (e.g. refreshes). The number of concurrent requests is limited for each host, so a slow
+ * host does not delay the requests to other hosts. Requests that waited longer than their maximum queue time are
+ * failed with a {@link TimeoutException}. A created request occupies a slot of its host until it completed, or until
+ * the sender returned if the request was not sent.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
     private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4; // per host
+
+    private final Logger logger = LoggerFactory.getLogger(RateLimitedHttpClient.class);
     private HttpClient httpClient;
     private int delay = 0; // in ms
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
     private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+    private final Deque<RequestQueueEntry> priorityQueue = new ArrayDeque<>();
+    private final Deque<RequestQueueEntry> requestQueue = new ArrayDeque<>();
+    private final Map<String, Integer> activeRequests = new HashMap<>();
+    private final LaneStatistics priorityStatistics = new LaneStatistics();
+    private final LaneStatistics requestStatistics = new LaneStatistics();
+    private long completedRequests = 0;
+    private long totalRequestTime = 0; // in ms
+    private boolean processingQueue = false;
+    private int pendingMaxRequests = 0;
 
     private @Nullable ScheduledFuture<?> processJob;
+    private volatile @Nullable HttpClientMeters meters;
 
     public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
         this.httpClient = httpClient;
@@ -55,7 +90,14 @@ public class RateLimitedHttpClient {
      */
     public void shutdown() {
         stopProcessJob();
-        requestQueue.forEach(queueEntry -> queueEntry.future.completeExceptionally(new CancellationException()));
+        List<RequestQueueEntry> queueEntries = new ArrayList<>();
+        synchronized (this) {
+            queueEntries.addAll(priorityQueue);
+            queueEntries.addAll(requestQueue);
+            priorityQueue.clear();
+            requestQueue.clear();
+        }
+        queueEntries.forEach(queueEntry -> queueEntry.future.completeExceptionally(new CancellationException()));
     }
 
     /**
@@ -70,10 +112,35 @@ public class RateLimitedHttpClient {
         this.delay = delay;
         stopProcessJob();
         if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+            processJob = scheduler.scheduleWithFixedDelay(() -> processQueue(1), 0, delay, TimeUnit.MILLISECONDS);
         }
     }
 
+    /**
+     * Set the maximum number of concurrent requests
+     *
+     * @param maxConcurrentRequests maximum number of requests to a single host that are processed at the same time
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum number of concurrent requests needs to be at least one");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        if (delay == 0) {
+            processQueue(Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Publish the queue sizes, queue times and request times of this client
+     *
+     * @param bindingMetrics the metrics of the binding
+     * @param thingUID the thing this client belongs to
+     */
+    public void setMetrics(BindingMetrics bindingMetrics, ThingUID thingUID) {
+        meters = new HttpClientMeters(bindingMetrics, thingUID);
+    }
+
     /**
      * Set the HTTP client
      *
@@ -84,23 +151,45 @@ public class RateLimitedHttpClient {
     }
 
     /**
-     * Create a new request to the given URL respecting rate-limits
+     * Create a new request to the given URL respecting rate-limits and pass it to the sender
+     *
+     * The sender is expected to send the request, the next request to the same host is not created before it has
+     * completed. If the sender fails or returns without sending the request, the request is released right away.
      *
      * @param finalUrl the request URL
      * @param method http request method GET/PUT/POST
      * @param content the content (if method PUT/POST)
-     * @return a CompletableFuture that completes with the request
+     * @param priority true if the request shall be created before all requests without priority
+     * @param maxQueueTime in ms until the request fails if it could not be created (0 for no limit)
+     * @param sender sends the request, called when the request was created
+     * @return a CompletableFuture that completes when the sender returned, or exceptionally if the request could not
+     *         be created or the sender failed
      */
-    public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content) {
-        // if no delay is set, return a completed CompletableFuture
-        CompletableFuture<Request> future = new CompletableFuture<>();
-        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
-        } else {
-            if (!requestQueue.offer(queueEntry)) {
-                future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+    public CompletableFuture<@Nullable Void> newRequest(URI finalUrl, HttpMethod method, String content,
+            boolean priority, int maxQueueTime, Consumer<Request> sender) {
+        CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, sender, future, priority,
+                maxQueueTime);
+        boolean rejected;
+        synchronized (this) {
+            rejected = priorityQueue.size() + requestQueue.size() >= MAX_QUEUE_SIZE;
+            if (rejected) {
+                statistics(priority).rejected++;
+            } else {
+                (priority ? priorityQueue : requestQueue).add(queueEntry);
+            }
+        }
+        if (rejected) {
+            HttpClientMeters meters = this.meters;
+            if (meters != null) {
+                meters.droppedRequests(priority).increment();
             }
+            future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+            return future;
+        }
+        // if no delay is set, the request is created immediately if the host has capacity left
+        if (delay == 0) {
+            processQueue(Integer.MAX_VALUE);
         }
         return future;
     }
@@ -114,6 +203,50 @@ public class RateLimitedHttpClient {
         return httpClient.getAuthenticationStore();
     }
 
+    /**
+     * @param priority true for the priority lane
+     * @return the number of requests waiting in the given lane
+     */
+    public synchronized int getQueueSize(boolean priority) {
+        return priority ? priorityQueue.size() : requestQueue.size();
+    }
+
+    /**
+     * @param priority true for the priority lane
+     * @return the average time in ms the requests of the given lane waited before they were created
+     */
+    public synchronized double getAverageQueueTime(boolean priority) {
+        LaneStatistics statistics = statistics(priority);
+        return statistics.started > 0 ? (double) statistics.totalQueueTime / statistics.started : 0;
+    }
+
+    /**
+     * @param priority true for the priority lane
+     * @return the number of requests of the given lane that failed because of a full queue or their maximum queue time
+     */
+    public synchronized long getDroppedRequests(boolean priority) {
+        LaneStatistics statistics = statistics(priority);
+        return statistics.rejected + statistics.expired;
+    }
+
+    /**
+     * @return the average time in ms between creating a request and its completion
+     */
+    public synchronized double getAverageRequestTime() {
+        return completedRequests > 0 ? (double) totalRequestTime / completedRequests : 0;
+    }
+
+    /**
+     * @return the number of requests that were created but have not completed yet
+     */
+    public synchronized int getActiveRequests() {
+        return activeRequests.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private LaneStatistics statistics(boolean priority) {
+        return priority ? priorityStatistics : requestStatistics;
+    }
+
     private void stopProcessJob() {
         ScheduledFuture<?> processJob = this.processJob;
         if (processJob != null) {
@@ -122,37 +255,209 @@ public class RateLimitedHttpClient {
         }
     }
 
-    private void processQueue() {
-        RequestQueueEntry queueEntry = requestQueue.poll();
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
+    /**
+     * Create the next requests until no more requests can be created. The senders are called outside of the lock,
+     * requests that complete while they are sent let the queue be processed again by the loop of the thread that is
+     * already processing it, instead of processing it recursively.
+     *
+     * @param maxRequests the maximum number of requests to create
+     */
+    private void processQueue(int maxRequests) {
+        synchronized (this) {
+            pendingMaxRequests = Math.max(pendingMaxRequests, maxRequests);
+            if (processingQueue) {
+                return;
+            }
+            processingQueue = true;
+        }
+        try {
+            while (true) {
+                int nextMaxRequests;
+                synchronized (this) {
+                    nextMaxRequests = pendingMaxRequests;
+                    pendingMaxRequests = 0;
+                    if (nextMaxRequests == 0) {
+                        processingQueue = false;
+                        return;
+                    }
+                }
+                processQueueOnce(nextMaxRequests);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                processingQueue = false;
+            }
+            throw e;
         }
     }
 
+    private void processQueueOnce(int maxRequests) {
+        List<RequestQueueEntry> expiredEntries = new ArrayList<>();
+        List<RequestQueueEntry> startedEntries = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (Deque<RequestQueueEntry> queue : List.of(priorityQueue, requestQueue)) {
+                Iterator<RequestQueueEntry> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    RequestQueueEntry queueEntry = iterator.next();
+                    if (queueEntry.deadline < now) {
+                        iterator.remove();
+                        statistics(queueEntry.priority).expired++;
+                        expiredEntries.add(queueEntry);
+                    } else if (startedEntries.size() < maxRequests
+                            && activeRequests.getOrDefault(queueEntry.host, 0) < maxConcurrentRequests) {
+                        iterator.remove();
+                        activeRequests.merge(queueEntry.host, 1, Integer::sum);
+                        LaneStatistics statistics = statistics(queueEntry.priority);
+                        statistics.started++;
+                        statistics.totalQueueTime += now - queueEntry.queueTime;
+                        startedEntries.add(queueEntry);
+                    }
+                }
+            }
+        }
+        HttpClientMeters meters = this.meters;
+        for (RequestQueueEntry queueEntry : expiredEntries) {
+            if (meters != null) {
+                meters.droppedRequests(queueEntry.priority).increment();
+            }
+            logger.debug("Request to '{}' was not created within {} ms, dropping it", queueEntry.finalUrl,
+                    queueEntry.deadline - queueEntry.queueTime);
+            queueEntry.future.completeExceptionally(new TimeoutException("Maximum queue time exceeded."));
+        }
+        for (RequestQueueEntry queueEntry : startedEntries) {
+            if (meters != null) {
+                meters.queueTime(queueEntry.priority).record(now - queueEntry.queueTime, TimeUnit.MILLISECONDS);
+            }
+            logger.trace("Creating request to '{}' (priority={}) after {} ms in queue", queueEntry.finalUrl,
+                    queueEntry.priority, now - queueEntry.queueTime);
+            queueEntry.send(httpClient, this::requestCompleted);
+        }
+    }
+
+    private void requestCompleted(RequestQueueEntry queueEntry, long requestTime) {
+        synchronized (this) {
+            activeRequests.computeIfPresent(queueEntry.host, (host, count) -> count > 1 ? count - 1 : null);
+            completedRequests++;
+            totalRequestTime += requestTime;
+        }
+        HttpClientMeters meters = this.meters;
+        if (meters != null) {
+            meters.requestTime.record(requestTime, TimeUnit.MILLISECONDS);
+        }
+        if (delay == 0) {
+            processQueue(Integer.MAX_VALUE);
+        }
+    }
+
+    private interface CompletionListener {
+        void requestCompleted(RequestQueueEntry queueEntry, long requestTime);
+    }
+
+    /**
+     * The meters of a client, the lanes are distinguished by the <code>lane</code> tag.
+     */
+    private class HttpClientMeters {
+        private static final String TAG_LANE = "lane";
+        private static final String LANE_PRIORITY = "priority";
+        private static final String LANE_NORMAL = "normal";
+
+        private final Timer priorityQueueTime;
+        private final Timer requestQueueTime;
+        private final Counter priorityDroppedRequests;
+        private final Counter droppedRequests;
+        private final Timer requestTime;
+
+        public HttpClientMeters(BindingMetrics bindingMetrics, ThingUID thingUID) {
+            bindingMetrics.gauge(thingUID, "queue.size", RateLimitedHttpClient.this,
+                    client -> client.getQueueSize(true), TAG_LANE, LANE_PRIORITY);
+            bindingMetrics.gauge(thingUID, "queue.size", RateLimitedHttpClient.this,
+                    client -> client.getQueueSize(false), TAG_LANE, LANE_NORMAL);
+            bindingMetrics.gauge(thingUID, "requests.active", RateLimitedHttpClient.this,
+                    RateLimitedHttpClient::getActiveRequests);
+            priorityQueueTime = bindingMetrics.timer(thingUID, "queue.time", TAG_LANE, LANE_PRIORITY);
+            requestQueueTime = bindingMetrics.timer(thingUID, "queue.time", TAG_LANE, LANE_NORMAL);
+            priorityDroppedRequests = bindingMetrics.counter(thingUID, "requests.dropped", TAG_LANE, LANE_PRIORITY);
+            droppedRequests = bindingMetrics.counter(thingUID, "requests.dropped", TAG_LANE, LANE_NORMAL);
+            requestTime = bindingMetrics.timer(thingUID, "request.time");
+        }
+
+        public Timer queueTime(boolean priority) {
+            return priority ? priorityQueueTime : requestQueueTime;
+        }
+
+        public Counter droppedRequests(boolean priority) {
+            return priority ? priorityDroppedRequests : droppedRequests;
+        }
+    }
+
+    private static class LaneStatistics {
+        private long started = 0;
+        private long totalQueueTime = 0; // in ms
+        private long rejected = 0;
+        private long expired = 0;
+    }
+
     private static class RequestQueueEntry {
-        private URI finalUrl;
-        private HttpMethod method;
-        private String content;
-        private CompletableFuture<Request> future;
+        private final URI finalUrl;
+        private final String host;
+        private final HttpMethod method;
+        private final String content;
+        private final Consumer<Request> sender;
+        private final CompletableFuture<@Nullable Void> future;
+        private final boolean priority;
+        private final long queueTime;
+        private final long deadline;
 
-        public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, CompletableFuture<Request> future) {
+        public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, Consumer<Request> sender,
+                CompletableFuture<@Nullable Void> future, boolean priority, int maxQueueTime) {
             this.finalUrl = finalUrl;
+            this.host = finalUrl.getHost() + ":" + finalUrl.getPort();
             this.method = method;
             this.content = content;
+            this.sender = sender;
             this.future = future;
+            this.priority = priority;
+            this.queueTime = System.currentTimeMillis();
+            this.deadline = maxQueueTime > 0 ? queueTime + maxQueueTime : Long.MAX_VALUE;
         }
 
         /**
-         * complete the future with a request
+         * create the request and pass it to the sender
          *
          * @param httpClient the client to create the request
+         * @param completionListener is notified once, when the request completed or if it was not sent
          */
-        public void completeFuture(HttpClient httpClient) {
+        public void send(HttpClient httpClient, CompletionListener completionListener) {
             Request request = httpClient.newRequest(finalUrl).method(method);
             if (method != HttpMethod.GET && !content.isEmpty()) {
                 request.content(new StringContentProvider(content));
             }
-            future.complete(request);
+            long startTime = System.currentTimeMillis();
+            AtomicBoolean completed = new AtomicBoolean();
+            Runnable complete = () -> {
+                if (completed.compareAndSet(false, true)) {
+                    completionListener.requestCompleted(this, System.currentTimeMillis() - startTime);
+                }
+            };
+            AtomicBoolean sent = new AtomicBoolean();
+            request.onRequestQueued(queuedRequest -> sent.set(true));
+            request.onComplete(result -> complete.run());
+            if (future.isDone()) {
+                // the request was cancelled and will never be sent
+                complete.run();
+                return;
+            }
+            try {
+                sender.accept(request);
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                if (!sent.get()) {
+                    complete.run();
+                }
+            }
         }
     }
 }
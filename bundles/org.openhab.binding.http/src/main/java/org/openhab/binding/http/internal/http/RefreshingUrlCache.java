@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +32,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -51,15 +53,19 @@ public class RefreshingUrlCache {
     private final boolean escapedUrl;
     private final RateLimitedHttpClient httpClient;
     private final int timeout;
+    private final int refresh;
     private final int bufferSize;
+    private final boolean skipUnchangedContent;
     private final @Nullable String fallbackEncoding;
     private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
 
+    private final Executor executor;
     private final ScheduledFuture<?> future;
     private @Nullable Content lastContent;
+    private volatile boolean forceDispatch = false;
 
     public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
             boolean escapedUrl, HttpThingConfig thingConfig, String httpContent) {
@@ -67,11 +73,14 @@ public class RefreshingUrlCache {
         this.url = url;
         this.escapedUrl = escapedUrl;
         this.timeout = thingConfig.timeout;
+        this.refresh = thingConfig.refresh;
         this.bufferSize = thingConfig.bufferSize;
+        this.skipUnchangedContent = thingConfig.skipUnchangedContent;
         this.headers = thingConfig.headers;
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
+        this.executor = executor;
 
         future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
         logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
@@ -93,7 +102,8 @@ public class RefreshingUrlCache {
             URI uri = escapedUrl ? new URI(url) : Util.uriFromString(url);
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
-            httpClient.newRequest(uri, httpMethod, httpContent).thenAccept(request -> {
+            // a refresh that could not be sent until the next one is due is dropped
+            httpClient.newRequest(uri, httpMethod, httpContent, false, refresh * 1000, request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
 
                 headers.forEach(header -> {
@@ -105,9 +115,26 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                // revalidate the last content instead of downloading it again, if the server supports it
+                final Content cachedContent = lastContent;
+                if (cachedContent != null) {
+                    String eTag = cachedContent.getETag();
+                    if (eTag != null && !request.getHeaders().containsKey(HttpHeader.IF_NONE_MATCH.asString())) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = cachedContent.getLastModified();
+                    if (lastModified != null
+                            && !request.getHeaders().containsKey(HttpHeader.IF_MODIFIED_SINCE.asString())) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
                 response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
+                    if (e instanceof HttpNotModifiedException) {
+                        logger.trace("Content of '{}' was not modified", uri);
+                        return cachedContent;
+                    } else if (e instanceof HttpAuthException) {
                         if (isRetry) {
                             logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
                         } else {
@@ -150,8 +177,43 @@ public class RefreshingUrlCache {
         logger.trace("Stopped refresh task for URL '{}'", url);
     }
 
+    /**
+     * Get the client the URL is requested with
+     *
+     * @return the client
+     */
+    RateLimitedHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Add a consumer. It immediately receives the last content if there is one.
+     *
+     * @param consumer the consumer
+     */
     public void addConsumer(Consumer<Content> consumer) {
-        consumers.add(consumer);
+        if (consumers.add(consumer)) {
+            final Content content = lastContent;
+            if (content != null) {
+                executor.execute(() -> dispatch(consumer, content));
+            }
+        }
+    }
+
+    public void removeConsumer(Consumer<Content> consumer) {
+        consumers.remove(consumer);
+    }
+
+    public boolean hasConsumers() {
+        return !consumers.isEmpty();
+    }
+
+    /**
+     * Process the next result even if it is equal to the last one and unchanged content is skipped (e.g. after a
+     * command changed the state of an item)
+     */
+    public void forceNextDispatch() {
+        forceDispatch = true;
     }
 
     public Optional<Content> get() {
@@ -165,14 +227,26 @@ public class RefreshingUrlCache {
 
     private void processResult(@Nullable Content content) {
         if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+            final Content previousContent = lastContent;
+            if (skipUnchangedContent && !forceDispatch && previousContent != null
+                    && (previousContent == content || previousContent.hasSamePayload(content))) {
+                // the consumers already processed this content, don't run the transformations again
+                logger.trace("Content of URL {} did not change, skipping processing", url);
+            } else {
+                forceDispatch = false;
+                for (Consumer<Content> consumer : consumers) {
+                    dispatch(consumer, content);
                 }
             }
         }
         lastContent = content;
     }
+
+    private void dispatch(Consumer<Content> consumer, Content content) {
+        try {
+            consumer.accept(content);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+        }
+    }
 }
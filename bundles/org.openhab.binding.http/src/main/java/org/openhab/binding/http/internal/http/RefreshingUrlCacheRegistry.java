@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.openhab.binding.http.internal.HttpBindingConstants.THING_TYPE_URL;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.io.metrics.BindingMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} shares {@link RefreshingUrlCache}s between things that request the same URL
+ * with the same configuration, so the URL is only polled once
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCacheRegistry.class);
+
+    private final Map<String, SharedCache> caches = new HashMap<>();
+    private int createdCaches = 0;
+
+    /**
+     * Get the cache for the given key or create it
+     *
+     * The meters of a shared cache can't belong to the thing that created it, as the cache is used until the last thing
+     * released it. They are registered with a UID of their own (<code>http:url:shared-&lt;n&gt;</code>) instead and
+     * removed when the cache is stopped.
+     *
+     * @param key identifies URL and all configuration parameters that affect the request
+     * @param bindingMetrics the metrics of the binding or null if they are not available
+     * @param cacheFactory creates the cache if there is none for this key, gets the UID for the meters of the cache.
+     *            The client of the created cache must not be used by other caches, it is shut down with the cache.
+     * @return the shared cache, needs to be released with {@link #release(String)}
+     */
+    public synchronized RefreshingUrlCache acquire(String key, @Nullable BindingMetrics bindingMetrics,
+            Function<ThingUID, RefreshingUrlCache> cacheFactory) {
+        SharedCache sharedCache = caches.computeIfAbsent(key, k -> {
+            ThingUID metricsUID = new ThingUID(THING_TYPE_URL, "shared-" + ++createdCaches);
+            return new SharedCache(cacheFactory.apply(metricsUID), metricsUID, bindingMetrics);
+        });
+        sharedCache.users++;
+        if (sharedCache.users > 1) {
+            logger.debug("Sharing refresh task between {} users", sharedCache.users);
+        }
+        return sharedCache.cache;
+    }
+
+    /**
+     * Release a cache, it is stopped and its client is shut down if it has no other users
+     *
+     * @param key the key the cache was acquired with
+     */
+    public synchronized void release(String key) {
+        SharedCache sharedCache = caches.get(key);
+        if (sharedCache != null && --sharedCache.users == 0) {
+            caches.remove(key);
+            sharedCache.stop();
+        }
+    }
+
+    /**
+     * Stop all caches
+     */
+    public synchronized void stopAll() {
+        caches.values().forEach(SharedCache::stop);
+        caches.clear();
+    }
+
+    private static class SharedCache {
+        private final RefreshingUrlCache cache;
+        private final ThingUID metricsUID;
+        private final @Nullable BindingMetrics bindingMetrics;
+        private int users = 0;
+
+        public SharedCache(RefreshingUrlCache cache, ThingUID metricsUID, @Nullable BindingMetrics bindingMetrics) {
+            this.cache = cache;
+            this.metricsUID = metricsUID;
+            this.bindingMetrics = bindingMetrics;
+        }
+
+        private void stop() {
+            cache.stop();
+            cache.getHttpClient().shutdown();
+            BindingMetrics bindingMetrics = this.bindingMetrics;
+            if (bindingMetrics != null) {
+                bindingMetrics.removeMeters(metricsUID);
+            }
+        }
+    }
+}
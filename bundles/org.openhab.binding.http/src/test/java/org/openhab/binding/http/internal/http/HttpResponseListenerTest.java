@@ -273,6 +273,46 @@ public class HttpResponseListenerTest {
         assertNull(content.getMediaType());
     }
 
+    /**
+     * When the remote side sends ETag and Last-Modified headers, the Content object contains their
+     * values.
+     */
+    @Test
+    public void okWithValidators() {
+        when(response.getStatus()).thenReturn(HttpStatus.OK_200);
+        response.getHeaders().put(HttpHeader.ETAG, "\"abc\"");
+        response.getHeaders().put(HttpHeader.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        CompletableFuture<@Nullable Content> future = run("foobar".getBytes());
+
+        Content content = future.join();
+        assertNotNull(content);
+        assertEquals("\"abc\"", content.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", content.getLastModified());
+    }
+
+    /**
+     * When the remote side response with a HTTP/304, the future completes exceptionally with a
+     * HttpNotModifiedException.
+     */
+    @Test
+    public void notModified() {
+        when(response.getStatus()).thenReturn(HttpStatus.NOT_MODIFIED_304);
+
+        CompletableFuture<@Nullable Content> future = run();
+
+        assertTrue(future.isDone());
+        assertTrue(future.isCompletedExceptionally());
+
+        @Nullable
+        CompletionException exceptionWrapper = assertThrows(CompletionException.class, () -> future.join());
+        assertNotNull(exceptionWrapper);
+
+        Throwable exception = exceptionWrapper.getCause();
+        assertNotNull(exception);
+        assertTrue(exception instanceof HttpNotModifiedException);
+    }
+
     /**
      * When the remote side response with a HTTP/401, the future completes exceptionally with a
      * HttpAuthException.
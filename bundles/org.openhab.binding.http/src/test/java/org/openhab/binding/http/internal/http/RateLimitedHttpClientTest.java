@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.io.metrics.BindingMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link RateLimitedHttpClient}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RateLimitedHttpClientTest {
+    private static final URI HOST_A = URI.create("http://a.local/state");
+    private static final URI HOST_B = URI.create("http://b.local/state");
+
+    private HttpClient httpClient = mock(HttpClient.class);
+    private ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private Map<Request, Response.CompleteListener> completeListeners = new HashMap<>();
+    private Map<Request, Request.QueuedListener> queuedListeners = new HashMap<>();
+    private List<Runnable> processJobs = new ArrayList<>();
+
+    private RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, scheduler);
+
+    @BeforeEach
+    void init() {
+        when(httpClient.newRequest(any(URI.class))).thenAnswer(invocation -> {
+            Request request = mock(Request.class);
+            when(request.getURI()).thenReturn(invocation.getArgument(0));
+            when(request.method(any(HttpMethod.class))).thenReturn(request);
+            when(request.onComplete(any())).thenAnswer(onComplete -> {
+                completeListeners.put(request, onComplete.getArgument(0));
+                return request;
+            });
+            when(request.onRequestQueued(any())).thenAnswer(onQueued -> {
+                queuedListeners.put(request, onQueued.getArgument(0));
+                return request;
+            });
+            doAnswer(send -> {
+                Request.QueuedListener listener = queuedListeners.get(request);
+                if (listener != null) {
+                    listener.onQueued(request);
+                }
+                return null;
+            }).when(request).send(any(Response.CompleteListener.class));
+            return request;
+        });
+        when(scheduler.scheduleWithFixedDelay(any(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            processJobs.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+    }
+
+    /**
+     * Queue a request that is sent when it was created
+     *
+     * @return the sent request
+     */
+    private CompletableFuture<Request> newRequest(URI uri, boolean priority, int maxQueueTime) {
+        CompletableFuture<Request> sentRequest = new CompletableFuture<>();
+        client.newRequest(uri, HttpMethod.GET, "", priority, maxQueueTime, request -> {
+            request.send(result -> {
+            });
+            sentRequest.complete(request);
+        }).exceptionally(e -> {
+            sentRequest.completeExceptionally(e);
+            return null;
+        });
+        return sentRequest;
+    }
+
+    private CompletableFuture<Request> newRequest(URI uri) {
+        return newRequest(uri, false, 0);
+    }
+
+    private void complete(CompletableFuture<Request> future) {
+        Request request = future.join();
+        Response.CompleteListener listener = completeListeners.get(request);
+        assertNotNull(listener);
+        listener.onComplete(new Result(request, mock(Response.class)));
+    }
+
+    /**
+     * The number of concurrent requests is limited per host, other hosts are not affected.
+     */
+    @Test
+    public void concurrentRequestsAreLimitedPerHost() {
+        client.setMaxConcurrentRequests(2);
+
+        CompletableFuture<Request> first = newRequest(HOST_A);
+        CompletableFuture<Request> second = newRequest(HOST_A);
+        CompletableFuture<Request> third = newRequest(HOST_A);
+        CompletableFuture<Request> otherHost = newRequest(HOST_B);
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertTrue(otherHost.isDone());
+        assertEquals(1, client.getQueueSize(false));
+        assertEquals(3, client.getActiveRequests());
+
+        complete(first);
+        assertTrue(third.isDone());
+        assertEquals(0, client.getQueueSize(false));
+    }
+
+    /**
+     * Requests in the priority lane are created before the other requests.
+     */
+    @Test
+    public void priorityRequestsAreCreatedFirst() {
+        client.setMaxConcurrentRequests(1);
+
+        CompletableFuture<Request> active = newRequest(HOST_A);
+        CompletableFuture<Request> refresh = newRequest(HOST_A);
+        CompletableFuture<Request> command = newRequest(HOST_A, true, 0);
+        assertFalse(refresh.isDone());
+        assertFalse(command.isDone());
+
+        complete(active);
+        assertTrue(command.isDone());
+        assertFalse(refresh.isDone());
+
+        complete(command);
+        assertTrue(refresh.isDone());
+    }
+
+    /**
+     * With a delay, one request is created per run of the process job, priority requests first.
+     */
+    @Test
+    public void delayedRequests() {
+        client.setDelay(100);
+        assertEquals(1, processJobs.size());
+
+        CompletableFuture<Request> refresh = newRequest(HOST_A);
+        CompletableFuture<Request> command = newRequest(HOST_B, true, 0);
+        assertFalse(refresh.isDone());
+        assertFalse(command.isDone());
+
+        processJobs.get(0).run();
+        assertTrue(command.isDone());
+        assertFalse(refresh.isDone());
+
+        processJobs.get(0).run();
+        assertTrue(refresh.isDone());
+    }
+
+    /**
+     * Requests that could not be created within their maximum queue time fail.
+     */
+    @Test
+    public void expiredRequestsFail() throws InterruptedException {
+        client.setMaxConcurrentRequests(1);
+
+        CompletableFuture<Request> active = newRequest(HOST_A);
+        CompletableFuture<Request> expiring = newRequest(HOST_A, false, 1);
+        Thread.sleep(10);
+
+        complete(active);
+        assertTrue(expiring.isCompletedExceptionally());
+        CompletionException exception = assertThrows(CompletionException.class, () -> expiring.join());
+        assertTrue(exception.getCause() instanceof TimeoutException);
+        assertEquals(1, client.getDroppedRequests(false));
+        assertEquals(0, client.getActiveRequests());
+    }
+
+    /**
+     * Queue sizes, queue times and dropped requests are published per lane.
+     */
+    @Test
+    public void metricsArePublished() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ThingUID thingUID = new ThingUID("http", "url", "test");
+        client.setMetrics(new BindingMetrics(meterRegistry, "http"), thingUID);
+        client.setMaxConcurrentRequests(1);
+
+        CompletableFuture<Request> active = newRequest(HOST_A);
+        newRequest(HOST_A, true, 0);
+        newRequest(HOST_A, false, 1);
+        assertEquals(1, meterRegistry.get("openhab.binding.http.queue.size").tag("lane", "priority")
+                .tag("thing", thingUID.getAsString()).gauge().value());
+        assertEquals(1, meterRegistry.get("openhab.binding.http.requests.active").gauge().value());
+        Thread.sleep(10);
+
+        complete(active);
+        assertEquals(1, meterRegistry.get("openhab.binding.http.requests.dropped").tag("lane", "normal").counter()
+                .count());
+        assertEquals(1, meterRegistry.get("openhab.binding.http.queue.time").tag("lane", "priority").timer().count());
+        assertEquals(1, meterRegistry.get("openhab.binding.http.request.time").timer().count());
+    }
+
+    /**
+     * A request that is not sent does not occupy a slot of its host.
+     */
+    @Test
+    public void requestsThatAreNotSentAreReleased() {
+        client.setMaxConcurrentRequests(1);
+
+        CompletableFuture<@Nullable Void> notSent = client.newRequest(HOST_A, HttpMethod.GET, "", false, 0,
+                request -> {
+                });
+        CompletableFuture<@Nullable Void> failed = client.newRequest(HOST_A, HttpMethod.GET, "", false, 0,
+                request -> {
+                    throw new IllegalStateException("failed before sending");
+                });
+        CompletableFuture<Request> sent = newRequest(HOST_A);
+
+        assertTrue(notSent.isDone());
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(sent.isDone());
+        assertEquals(1, client.getActiveRequests());
+    }
+
+    /**
+     * Requests that complete while they are sent do not make the queue be processed recursively.
+     */
+    @Test
+    public void synchronouslyCompletedRequestsAreProcessedInLoop() {
+        client.setMaxConcurrentRequests(1);
+        CompletableFuture<Request> active = newRequest(HOST_A);
+        List<CompletableFuture<@Nullable Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(client.newRequest(HOST_A, HttpMethod.GET, "", false, 0, request -> {
+                request.send(result -> {
+                });
+                // the request completes right away, e.g. because the connection failed
+                Response.CompleteListener listener = completeListeners.get(request);
+                assertNotNull(listener);
+                listener.onComplete(new Result(request, mock(Response.class)));
+            }));
+        }
+        assertEquals(2000, client.getQueueSize(false));
+
+        complete(active);
+        futures.forEach(future -> assertTrue(future.isDone()));
+        assertEquals(0, client.getActiveRequests());
+        assertEquals(0, client.getQueueSize(false));
+    }
+}
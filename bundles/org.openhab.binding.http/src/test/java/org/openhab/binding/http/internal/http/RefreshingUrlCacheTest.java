@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * Unit tests for {@link RefreshingUrlCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheTest {
+
+    private ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private RateLimitedHttpClient httpClient = mock(RateLimitedHttpClient.class);
+    private Request request = mock(Request.class);
+    private Response response = mock(Response.class);
+
+    private List<Runnable> refreshTasks = new ArrayList<>();
+    private List<String> received = new ArrayList<>();
+
+    private int status = HttpStatus.OK_200;
+    private String payload = "";
+    private HttpFields responseHeaders = new HttpFields();
+
+    @BeforeEach
+    void init() {
+        when(executor.scheduleWithFixedDelay(any(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            refreshTasks.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any());
+
+        when(httpClient.newRequest(any(), any(), any(), anyBoolean(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<Request> sender = invocation.getArgument(5);
+            sender.accept(request);
+            return CompletableFuture.completedFuture(null);
+        });
+        when(request.getHeaders()).thenReturn(new HttpFields());
+        doAnswer(invocation -> {
+            HttpResponseListener listener = invocation.getArgument(0);
+            listener.onContent(response, ByteBuffer.wrap(payload.getBytes()));
+            listener.onComplete(new Result(request, response));
+            return null;
+        }).when(request).send(any(Response.CompleteListener.class));
+
+        when(response.getStatus()).thenAnswer(invocation -> status);
+        when(response.getHeaders()).thenAnswer(invocation -> responseHeaders);
+    }
+
+    private RefreshingUrlCache createCache() {
+        return createCache(true);
+    }
+
+    private RefreshingUrlCache createCache(boolean skipUnchangedContent) {
+        HttpThingConfig config = new HttpThingConfig();
+        config.skipUnchangedContent = skipUnchangedContent;
+        RefreshingUrlCache cache = new RefreshingUrlCache(executor, httpClient, "http://localhost/state", false,
+                config, "");
+        cache.addConsumer(content -> received.add(content.getAsString()));
+        return cache;
+    }
+
+    private void refresh(int status, String payload) {
+        this.status = status;
+        this.payload = payload;
+        refreshTasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Identical content is only processed once, changed content is processed again.
+     */
+    @Test
+    public void unchangedContentIsNotDispatched() {
+        createCache();
+
+        refresh(HttpStatus.OK_200, "foo");
+        refresh(HttpStatus.OK_200, "foo");
+        assertEquals(List.of("foo"), received);
+
+        refresh(HttpStatus.OK_200, "bar");
+        assertEquals(List.of("foo", "bar"), received);
+    }
+
+    /**
+     * By default, every content is processed, also if it was not modified.
+     */
+    @Test
+    public void unchangedContentIsDispatchedByDefault() {
+        createCache(false);
+
+        responseHeaders.put(HttpHeader.ETAG, "\"1\"");
+        refresh(HttpStatus.OK_200, "foo");
+        refresh(HttpStatus.OK_200, "foo");
+        refresh(HttpStatus.NOT_MODIFIED_304, "");
+        assertEquals(List.of("foo", "foo", "foo"), received);
+    }
+
+    /**
+     * The ETag of the last response is used to revalidate the content. When the content was not
+     * modified, the last content is kept but not processed again.
+     */
+    @Test
+    public void notModifiedContentIsKept() {
+        RefreshingUrlCache cache = createCache();
+
+        responseHeaders.put(HttpHeader.ETAG, "\"1\"");
+        refresh(HttpStatus.OK_200, "foo");
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+
+        refresh(HttpStatus.NOT_MODIFIED_304, "");
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"1\"");
+        assertEquals(List.of("foo"), received);
+        assertEquals("foo", cache.get().map(Content::getAsString).orElse(null));
+    }
+
+    /**
+     * The next content is processed even if it did not change when it was requested.
+     */
+    @Test
+    public void forcedDispatch() {
+        RefreshingUrlCache cache = createCache();
+
+        refresh(HttpStatus.OK_200, "foo");
+        cache.forceNextDispatch();
+        refresh(HttpStatus.OK_200, "foo");
+        refresh(HttpStatus.OK_200, "foo");
+        assertEquals(List.of("foo", "foo"), received);
+    }
+
+    /**
+     * A consumer that is added later immediately receives the last content.
+     */
+    @Test
+    public void lateConsumerReceivesLastContent() {
+        RefreshingUrlCache cache = createCache();
+        refresh(HttpStatus.OK_200, "foo");
+
+        List<String> lateReceived = new ArrayList<>();
+        cache.addConsumer(content -> lateReceived.add(content.getAsString()));
+        assertEquals(List.of("foo"), lateReceived);
+        assertEquals(List.of("foo"), received);
+    }
+}
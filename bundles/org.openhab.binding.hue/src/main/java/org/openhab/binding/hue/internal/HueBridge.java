@@ -73,7 +73,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandScheduler commandScheduler;
 
     @Nullable
     private Config cachedConfig;
@@ -96,7 +96,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler, this::getGroupActionURL);
     }
 
     /**
@@ -124,8 +124,8 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler, this::getGroupActionURL);
     }
 
     /**
@@ -146,6 +146,15 @@ public class HueBridge {
         return ip;
     }
 
+    /**
+     * Returns the scheduler that sends the state updates of lights, groups and sensors to the bridge.
+     *
+     * @return the command scheduler of the bridge
+     */
+    public HueCommandScheduler getCommandScheduler() {
+        return commandScheduler;
+    }
+
     public ApiVersion getVersion() throws IOException, ApiException {
         Config c = getCachedConfig();
         return ApiVersion.of(c.getApiVersion());
@@ -258,6 +267,46 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns detailed information for the light with the given id.
+     *
+     * @param id id of the light
+     * @return detailed light information
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a light with the given id doesn't exist
+     */
+    public FullLight getFullLight(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights/" + enc(id)));
+
+        handleErrors(result);
+
+        FullLight fullLight = safeFromJson(result.getBody(), FullLight.class);
+        fullLight.setId(id);
+        return fullLight;
+    }
+
+    /**
+     * Returns detailed information for the sensor with the given id.
+     *
+     * @param id id of the sensor
+     * @return detailed sensor information
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a sensor with the given id doesn't exist
+     */
+    public FullSensor getSensor(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors/" + enc(id)));
+
+        handleErrors(result);
+
+        FullSensor sensor = safeFromJson(result.getBody(), FullSensor.class);
+        sensor.setId(id);
+        return sensor;
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -380,9 +429,8 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submitLightCommand(light.getId(),
+                getRelativeURL("lights/" + enc(light.getId()) + "/state"), update);
     }
 
     /**
@@ -398,9 +446,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submitCommand(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update);
     }
 
     /**
@@ -415,9 +461,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.submitCommand(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update);
     }
 
     /**
@@ -463,6 +507,7 @@ public class HueBridge {
             groupList.add(group);
         });
 
+        commandScheduler.setGroups(groupList);
         return groupList;
     }
 
@@ -545,6 +590,20 @@ public class HueBridge {
         return fullGroup;
     }
 
+    /**
+     * Returns detailed information for the group with the given id.
+     *
+     * @param id id of the group
+     * @return detailed group information
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a group with the given id doesn't exist
+     */
+    public FullGroup getGroup(String id) throws IOException, ApiException {
+        Group group = new Group();
+        group.setId(id);
+        return getGroup(group);
+    }
+
     /**
      * Changes the name of the group and returns the new name.
      * A number will be appended to duplicate names, which may result in a new name exceeding 32 characters.
@@ -642,9 +701,7 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.submitGroupCommand(getGroupActionURL(group.getId()), update);
     }
 
     /**
@@ -1122,6 +1179,10 @@ public class HueBridge {
         }
     }
 
+    private String getGroupActionURL(String groupId) {
+        return getRelativeURL("groups/" + enc(groupId) + "/action");
+    }
+
     private String getRelativeURL(String path) {
         String relativeUrl = baseUrl;
         if (username != null) {
@@ -0,0 +1,475 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.io.metrics.BindingMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link HueCommandScheduler} sends the state and config updates of a bridge one after the other, within the
+ * rate the bridge can handle (about 10 light commands and 1 group command per second, see
+ * https://developers.meethue.com/develop/application-design-guidance/hue-system-performance/).
+ *
+ * While a command is queued, later updates for the same light, group or sensor are merged into it, so only the last
+ * value of each attribute is sent. Updates are not merged into a command that is followed by a queued command for
+ * some of the same lights, as that would change the order in which the bridge applies them. When the queued
+ * commands of several lights are identical and these lights are all the lights of a group, a single group command is
+ * sent instead.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandScheduler {
+    static final long LIGHT_COMMAND_INTERVAL_MS = 100;
+    static final long GROUP_COMMAND_INTERVAL_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandScheduler.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, String> groupAddress;
+    private final long lightCommandInterval;
+    private final long groupCommandInterval;
+
+    private final Deque<PendingCommand> queue = new ArrayDeque<>();
+    private final Map<String, PendingCommand> queuedCommands = new HashMap<>();
+    private Map<String, Set<String>> groupLights = Map.of();
+    private Map<String, Set<String>> groupAddressLights = Map.of();
+
+    private @Nullable Future<?> job;
+    private boolean sending;
+    private long nextCommandTime;
+    private long nextGroupCommandTime;
+    private long coalescedCommands;
+    private long substitutedCommands;
+
+    private volatile @Nullable CommandMeters meters;
+
+    /**
+     * A queued command, with the updates of all merged commands.
+     */
+    private static class PendingCommand {
+        private final String address;
+        private final @Nullable String lightId;
+        private final boolean groupCommand;
+        private final Map<String, Command> commands = new LinkedHashMap<>();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+        private final long queuedTime = System.nanoTime();
+        private boolean substitutable = true;
+
+        PendingCommand(String address, @Nullable String lightId, boolean groupCommand) {
+            this.address = address;
+            this.lightId = lightId;
+            this.groupCommand = groupCommand;
+        }
+
+        void merge(ConfigUpdate update) {
+            for (Command command : update.commands) {
+                // the attribute is moved to the end, so the bridge applies the attributes in the order of the updates
+                commands.remove(command.key);
+                commands.put(command.key, command);
+            }
+        }
+
+        String getBody() {
+            return commands.values().stream().map(Command::toJson).collect(joining(",", "{", "}"));
+        }
+
+        long getMessageDelay() {
+            return commands.size() * 40L;
+        }
+    }
+
+    /**
+     * The meters of the scheduler, the number of queued commands and the time from queueing a command until the
+     * response of the bridge.
+     */
+    private static class CommandMeters {
+        private final Timer commandTime;
+        private final Counter coalescedCommands;
+        private final Counter substitutedCommands;
+
+        CommandMeters(BindingMetrics bindingMetrics, ThingUID thingUID, HueCommandScheduler scheduler) {
+            bindingMetrics.gauge(thingUID, "commands.queue.size", scheduler, HueCommandScheduler::getQueueSize);
+            commandTime = bindingMetrics.timer(thingUID, "command.time");
+            coalescedCommands = bindingMetrics.counter(thingUID, "commands.coalesced");
+            substitutedCommands = bindingMetrics.counter(thingUID, "commands.substituted");
+        }
+    }
+
+    /**
+     * @param http the client used to send the commands
+     * @param scheduler the executor the commands are sent from
+     * @param groupAddress the address of the action of a group, used to replace light commands by group commands
+     */
+    public HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler,
+            Function<String, String> groupAddress) {
+        this(http, scheduler, groupAddress, LIGHT_COMMAND_INTERVAL_MS, GROUP_COMMAND_INTERVAL_MS);
+    }
+
+    HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler, Function<String, String> groupAddress,
+            long lightCommandInterval, long groupCommandInterval) {
+        this.http = http;
+        this.scheduler = scheduler;
+        this.groupAddress = groupAddress;
+        this.lightCommandInterval = lightCommandInterval;
+        this.groupCommandInterval = groupCommandInterval;
+    }
+
+    /**
+     * Publish the queue size and the command latency.
+     *
+     * @param bindingMetrics the metrics of the binding
+     * @param thingUID the bridge thing
+     */
+    public void setMetrics(BindingMetrics bindingMetrics, ThingUID thingUID) {
+        meters = new CommandMeters(bindingMetrics, thingUID, this);
+    }
+
+    public void removeMetrics() {
+        meters = null;
+    }
+
+    /**
+     * Set the lights of the groups of the bridge, commands are only replaced by commands of these groups.
+     *
+     * @param groups the groups
+     */
+    public void setGroups(Collection<FullGroup> groups) {
+        Map<String, Set<String>> groupLights = new HashMap<>();
+        Map<String, Set<String>> groupAddressLights = new HashMap<>();
+        for (FullGroup group : groups) {
+            Set<String> lightIds = Set.copyOf(group.getLightIds());
+            if (lightIds.size() > 1) {
+                groupLights.put(group.getId(), lightIds);
+            }
+            groupAddressLights.put(groupAddress.apply(group.getId()), lightIds);
+        }
+        synchronized (this) {
+            this.groupLights = groupLights;
+            this.groupAddressLights = groupAddressLights;
+        }
+    }
+
+    /**
+     * Queue a command for a light.
+     *
+     * @param lightId the id of the light
+     * @param address the address of the state of the light
+     * @param update the changes of the state
+     * @return the response of the bridge, shared with the commands it was merged with
+     */
+    public CompletableFuture<Result> submitLightCommand(String lightId, String address, ConfigUpdate update) {
+        return submit(address, lightId, false, update);
+    }
+
+    /**
+     * Queue a command for a group.
+     *
+     * @param address the address of the action of the group
+     * @param update the changes of the state
+     * @return the response of the bridge, shared with the commands it was merged with
+     */
+    public CompletableFuture<Result> submitGroupCommand(String address, ConfigUpdate update) {
+        return submit(address, null, true, update);
+    }
+
+    /**
+     * Queue a command for any other resource, e.g. a sensor.
+     *
+     * @param address the address of the resource
+     * @param update the changes
+     * @return the response of the bridge, shared with the commands it was merged with
+     */
+    public CompletableFuture<Result> submitCommand(String address, ConfigUpdate update) {
+        return submit(address, null, false, update);
+    }
+
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    public synchronized long getCoalescedCommands() {
+        return coalescedCommands;
+    }
+
+    public synchronized long getSubstitutedCommands() {
+        return substitutedCommands;
+    }
+
+    private CompletableFuture<Result> submit(String address, @Nullable String lightId, boolean groupCommand,
+            ConfigUpdate update) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        boolean coalesced = false;
+        synchronized (this) {
+            PendingCommand command = queuedCommands.get(address);
+            if (command == null || isFollowedByOverlappingCommand(command)) {
+                command = new PendingCommand(address, lightId, groupCommand);
+                queuedCommands.put(address, command);
+                queue.offer(command);
+            } else {
+                coalesced = true;
+                coalescedCommands++;
+            }
+            command.merge(update);
+            command.futures.add(future);
+            scheduleDispatch(0);
+        }
+        CommandMeters localMeters = meters;
+        if (coalesced && localMeters != null) {
+            localMeters.coalescedCommands.increment();
+        }
+        return future;
+    }
+
+    /**
+     * Check if a command queued after the given one changes the state of some of the same lights.
+     */
+    private boolean isFollowedByOverlappingCommand(PendingCommand command) {
+        @Nullable
+        Set<String> lightIds = getLightIds(command);
+        if (lightIds != null && lightIds.isEmpty()) {
+            return false;
+        }
+        for (Iterator<PendingCommand> iterator = queue.descendingIterator(); iterator.hasNext();) {
+            PendingCommand queued = iterator.next();
+            if (queued == command) {
+                return false;
+            }
+            @Nullable
+            Set<String> queuedLightIds = getLightIds(queued);
+            if (lightIds == null || queuedLightIds == null) {
+                if (queuedLightIds == null || !queuedLightIds.isEmpty()) {
+                    return true;
+                }
+            } else if (queuedLightIds.stream().anyMatch(lightIds::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the lights whose state is changed by the command, or null for a group with unknown lights
+     */
+    private @Nullable Set<String> getLightIds(PendingCommand command) {
+        String lightId = command.lightId;
+        if (lightId != null) {
+            return Set.of(lightId);
+        }
+        return command.groupCommand ? groupAddressLights.get(command.address) : Set.of();
+    }
+
+    private synchronized void scheduleDispatch(long minDelay) {
+        if (sending) {
+            // the next command is scheduled when the current one was sent
+            return;
+        }
+        Future<?> localJob = job;
+        if (localJob == null || localJob.isDone()) {
+            long delay = Math.max(minDelay, TimeUnit.NANOSECONDS.toMillis(nextCommandTime - System.nanoTime()));
+            job = scheduler.schedule(this::dispatch, Math.max(0, delay), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send the next command and schedule the one after it.
+     */
+    void dispatch() {
+        PendingCommand command;
+        List<PendingCommand> substituted = List.of();
+        synchronized (this) {
+            job = null;
+            command = queue.peek();
+            if (command == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long groupDelay = TimeUnit.NANOSECONDS.toMillis(nextGroupCommandTime - now);
+            if (command.groupCommand && groupDelay > 0) {
+                scheduleDispatch(groupDelay);
+                return;
+            }
+            if (command.lightId != null && command.substitutable) {
+                substituted = findGroupCommand(command);
+                if (!substituted.isEmpty() && groupDelay > 0) {
+                    if (groupDelay >= (substituted.size() - 1) * lightCommandInterval) {
+                        // sending the commands to the lights one by one is faster than waiting for the group
+                        substituted = List.of();
+                    } else {
+                        scheduleDispatch(groupDelay);
+                        return;
+                    }
+                }
+            }
+            if (substituted.isEmpty()) {
+                queue.poll();
+                queuedCommands.remove(command.address, command);
+            } else {
+                command = substituted.get(0);
+                substituted = substituted.subList(1, substituted.size());
+                queue.removeAll(substituted);
+                substituted.forEach(c -> queuedCommands.remove(c.address, c));
+                substitutedCommands += substituted.size();
+            }
+            long interval = Math.max(lightCommandInterval, command.getMessageDelay());
+            nextCommandTime = now + TimeUnit.MILLISECONDS.toNanos(interval);
+            if (command.groupCommand) {
+                nextGroupCommandTime = now + TimeUnit.MILLISECONDS.toNanos(groupCommandInterval);
+            }
+            sending = true;
+        }
+
+        try {
+            send(command, substituted);
+        } finally {
+            synchronized (this) {
+                sending = false;
+                if (!queue.isEmpty()) {
+                    scheduleDispatch(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Find a group whose lights all have the same queued command as the given light command. Only the commands up to
+     * the first group command are considered, as the group command may change the state of the same lights.
+     *
+     * @param command the first command of the queue
+     * @return the group command followed by the replaced light commands, or an empty list
+     */
+    private List<PendingCommand> findGroupCommand(PendingCommand command) {
+        String body = command.getBody();
+        Map<String, PendingCommand> identicalCommands = new HashMap<>();
+        for (PendingCommand queued : queue) {
+            if (queued.groupCommand) {
+                break;
+            }
+            String lightId = queued.lightId;
+            if (lightId != null && queued.substitutable && body.equals(queued.getBody())) {
+                identicalCommands.put(lightId, queued);
+            }
+        }
+        if (identicalCommands.size() < 2) {
+            return List.of();
+        }
+
+        String bestGroupId = null;
+        Set<String> bestLightIds = Set.of();
+        for (Map.Entry<String, Set<String>> entry : groupLights.entrySet()) {
+            Set<String> lightIds = entry.getValue();
+            if (lightIds.size() > bestLightIds.size() && lightIds.contains(command.lightId)
+                    && identicalCommands.keySet().containsAll(lightIds)) {
+                bestGroupId = entry.getKey();
+                bestLightIds = lightIds;
+            }
+        }
+        if (bestGroupId == null) {
+            return List.of();
+        }
+
+        logger.debug("Sending {} to group {} instead of lights {}", body, bestGroupId, bestLightIds);
+        List<PendingCommand> result = new ArrayList<>();
+        PendingCommand groupCommand = new PendingCommand(groupAddress.apply(bestGroupId), null, true);
+        groupCommand.commands.putAll(command.commands);
+        result.add(groupCommand);
+        for (Map.Entry<String, PendingCommand> entry : identicalCommands.entrySet()) {
+            if (bestLightIds.contains(entry.getKey())) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void send(PendingCommand command, List<PendingCommand> substituted) {
+        String body = command.getBody();
+        logger.debug("Sending put to address: {} body: {}", command.address, body);
+        Result result;
+        try {
+            result = http.put(command.address, body);
+        } catch (IOException e) {
+            fail(command, e);
+            substituted.forEach(c -> fail(c, e));
+            return;
+        }
+        complete(command, result);
+
+        if (!substituted.isEmpty()) {
+            if (result.getResponseCode() == 200 && !result.getBody().contains("\"error\"")) {
+                substituted.forEach(c -> complete(c, result));
+                CommandMeters localMeters = meters;
+                if (localMeters != null) {
+                    localMeters.substitutedCommands.increment(substituted.size());
+                }
+            } else {
+                // the errors of the group command do not apply to the lights, send them one by one
+                logger.debug("Group command {} failed, sending the commands to the lights", command.address);
+                synchronized (this) {
+                    for (int i = substituted.size() - 1; i >= 0; i--) {
+                        PendingCommand lightCommand = substituted.get(i);
+                        lightCommand.substitutable = false;
+                        queue.offerFirst(lightCommand);
+                        queuedCommands.putIfAbsent(lightCommand.address, lightCommand);
+                    }
+                    substitutedCommands -= substituted.size();
+                }
+            }
+        }
+    }
+
+    private void complete(PendingCommand command, Result result) {
+        recordCommandTime(command);
+        command.futures.forEach(future -> future.complete(result));
+    }
+
+    private void fail(PendingCommand command, IOException exception) {
+        recordCommandTime(command);
+        command.futures.forEach(future -> future.completeExceptionally(exception));
+    }
+
+    private void recordCommandTime(PendingCommand command) {
+        CommandMeters localMeters = meters;
+        // the commands sent instead of light commands are not measured, the light commands are
+        if (localMeters != null && !command.futures.isEmpty()) {
+            localMeters.commandTime.record(System.nanoTime() - command.queuedTime, TimeUnit.NANOSECONDS);
+        }
+    }
+}
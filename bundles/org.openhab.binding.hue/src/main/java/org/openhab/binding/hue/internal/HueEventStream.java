@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link HueEventStream} receives the changes of lights, groups and sensors from the server-sent event stream of
+ * the Hue bridge. The stream belongs to the CLIP v2 API, but each changed resource also carries its id of the v1 API,
+ * so the changes are reported with the v1 ids the rest of the binding uses.
+ *
+ * The stream is read by its own thread and is reconnected with an increasing delay if it fails.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStream {
+    public static final String PATH = "/eventstream/clip/v2";
+
+    public static final String EVENT_ADD = "add";
+    public static final String EVENT_UPDATE = "update";
+    public static final String EVENT_DELETE = "delete";
+
+    public static final String LIGHTS = "lights";
+    public static final String SENSORS = "sensors";
+    public static final String GROUPS = "groups";
+
+    private static final String APPLICATION_KEY_HEADER = "hue-application-key";
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    // the bridge does not send keep-alive messages, the stream is reopened if it stayed silent for this long
+    private static final int READ_TIMEOUT_MS = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long MIN_RETRY_DELAY_MS = 1000;
+    private static final long MAX_RETRY_DELAY_MS = 60000;
+
+    /**
+     * Receives the state of the stream and the changed resources.
+     */
+    public interface Listener {
+        /**
+         * Called when the stream was (re)connected after it was disconnected or not connected at all.
+         */
+        void onConnected();
+
+        /**
+         * Called when the stream failed, it is reconnected automatically.
+         *
+         * @param reason description of the failure
+         */
+        void onDisconnected(String reason);
+
+        /**
+         * Called for each changed resource.
+         *
+         * @param eventType {@link #EVENT_ADD}, {@link #EVENT_UPDATE} or {@link #EVENT_DELETE}
+         * @param resourceType {@link #LIGHTS}, {@link #SENSORS} or {@link #GROUPS}
+         * @param id id of the resource in the v1 API
+         */
+        void onResourceChanged(String eventType, String resourceType, String id);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HueEventStream.class);
+    private final URI uri;
+    private final String applicationKey;
+    private final Listener listener;
+    private final String threadName;
+
+    private volatile boolean running = false;
+    private volatile boolean connected = false;
+    private volatile @Nullable HttpURLConnection connection;
+    private @Nullable Thread thread;
+
+    /**
+     * @param uri the URI of the event stream, see {@link #PATH}
+     * @param applicationKey the user name of the v1 API
+     * @param listener receives the changes
+     * @param threadName name of the thread that reads the stream
+     */
+    public HueEventStream(URI uri, String applicationKey, Listener listener, String threadName) {
+        this.uri = uri;
+        this.applicationKey = applicationKey;
+        this.listener = listener;
+        this.threadName = threadName;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+        this.thread = thread;
+    }
+
+    public synchronized void stop() {
+        running = false;
+        HttpURLConnection connection = this.connection;
+        if (connection != null) {
+            connection.disconnect();
+        }
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.interrupt();
+            this.thread = null;
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void run() {
+        long retryDelay = MIN_RETRY_DELAY_MS;
+        while (running) {
+            try {
+                connectAndRead();
+                logger.debug("Event stream {} was closed by the bridge, reconnecting", uri);
+                retryDelay = MIN_RETRY_DELAY_MS;
+            } catch (SocketTimeoutException e) {
+                if (connected) {
+                    logger.debug("No events received from {} for {} ms, reconnecting", uri, READ_TIMEOUT_MS);
+                    continue;
+                }
+                onFailure(e);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+            } catch (IOException | RuntimeException e) {
+                onFailure(e);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        connected = false;
+        logger.debug("Event stream {} stopped", uri);
+    }
+
+    private void onFailure(Exception e) {
+        if (!running) {
+            return;
+        }
+        logger.debug("Event stream {} failed: {}", uri, e.getMessage());
+        if (connected) {
+            connected = false;
+            listener.onDisconnected(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void connectAndRead() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        this.connection = connection;
+        try {
+            connection.setRequestProperty("Accept", "text/event-stream");
+            connection.setRequestProperty(APPLICATION_KEY_HEADER, applicationKey);
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response code " + responseCode);
+            }
+            if (!connected) {
+                logger.debug("Event stream {} connected", uri);
+                connected = true;
+                listener.onConnected();
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                readEvents(reader);
+            }
+        } finally {
+            connection.disconnect();
+            this.connection = null;
+        }
+    }
+
+    /**
+     * Read the events of a stream until it ends. Only the data fields of the events are used.
+     *
+     * @param reader the stream
+     * @throws IOException if the stream could not be read
+     */
+    void readEvents(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    processEvent(data.toString());
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+            }
+            // comments, ids and event names are not needed
+        }
+    }
+
+    /**
+     * Report the changed resources of an event. The data of an event is an array of events, each of them with an
+     * array of changed resources.
+     *
+     * @param data the data of the event
+     */
+    void processEvent(String data) {
+        try {
+            JsonElement root = JsonParser.parseString(data);
+            if (!root.isJsonArray()) {
+                logger.debug("Ignoring unexpected event {}", data);
+                return;
+            }
+            for (JsonElement event : root.getAsJsonArray()) {
+                JsonObject eventObject = event.getAsJsonObject();
+                JsonElement eventType = eventObject.get("type");
+                JsonElement resources = eventObject.get("data");
+                if (eventType == null || resources == null || !resources.isJsonArray()) {
+                    continue;
+                }
+                for (JsonElement resource : resources.getAsJsonArray()) {
+                    JsonElement idV1 = resource.getAsJsonObject().get("id_v1");
+                    if (idV1 != null) {
+                        processResource(eventType.getAsString(), idV1.getAsString());
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            logger.debug("Ignoring event that could not be parsed: {}", e.getMessage());
+        }
+    }
+
+    private void processResource(String eventType, String idV1) {
+        // e.g. /lights/3, /sensors/12 or /groups/1
+        String[] parts = idV1.split("/");
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            return;
+        }
+        String resourceType = parts[1];
+        if (LIGHTS.equals(resourceType) || SENSORS.equals(resourceType) || GROUPS.equals(resourceType)) {
+            logger.trace("Event {} for {}", eventType, idV1);
+            listener.onResourceChanged(eventType, resourceType, parts[2]);
+        }
+    }
+}
@@ -42,9 +42,13 @@ import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.BindingMetrics;
+import org.openhab.io.metrics.BindingMetricsProvider;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * {@link HueThingHandlerFactory} is a factory for {@link HueBridgeHandler}s.
@@ -73,6 +77,8 @@ public class HueThingHandlerFactory extends BaseThingHandlerFactory {
     private final TranslationProvider i18nProvider;
     private final LocaleProvider localeProvider;
 
+    private volatile @Nullable BindingMetrics bindingMetrics;
+
     @Activate
     public HueThingHandlerFactory(final @Reference HueStateDescriptionProvider stateDescriptionProvider,
             final @Reference TranslationProvider i18nProvider, final @Reference LocaleProvider localeProvider) {
@@ -149,7 +155,8 @@ public class HueThingHandlerFactory extends BaseThingHandlerFactory {
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         if (HueBridgeHandler.SUPPORTED_THING_TYPES.contains(thing.getThingTypeUID())) {
-            return new HueBridgeHandler((Bridge) thing, stateDescriptionProvider, i18nProvider, localeProvider);
+            return new HueBridgeHandler((Bridge) thing, stateDescriptionProvider, i18nProvider, localeProvider,
+                    bindingMetrics);
         } else if (HueLightHandler.SUPPORTED_THING_TYPES.contains(thing.getThingTypeUID())) {
             return new HueLightHandler(thing, stateDescriptionProvider);
         } else if (DimmerSwitchHandler.SUPPORTED_THING_TYPES.contains(thing.getThingTypeUID())) {
@@ -172,4 +179,16 @@ public class HueThingHandlerFactory extends BaseThingHandlerFactory {
             return null;
         }
     }
+
+    /**
+     * The metrics service is optional, bridges that are created before it is available do not publish metrics.
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = bindingMetricsProvider.getBindingMetrics(BINDING_ID);
+    }
+
+    public void unsetBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = null;
+    }
 }
@@ -32,6 +32,8 @@ public class HueBridgeConfig {
     private @Nullable String userName;
     private int pollingInterval = 10;
     private int sensorPollingInterval = 500;
+    private boolean eventStream = false;
+    private int reconciliationInterval = 300;
 
     public @Nullable String getIpAddress() {
         return ipAddress;
@@ -81,4 +83,20 @@ public class HueBridgeConfig {
     public void setSensorPollingInterval(int sensorPollingInterval) {
         this.sensorPollingInterval = sensorPollingInterval;
     }
+
+    public boolean isEventStream() {
+        return eventStream;
+    }
+
+    public void setEventStream(boolean eventStream) {
+        this.eventStream = eventStream;
+    }
+
+    public int getReconciliationInterval() {
+        return reconciliationInterval;
+    }
+
+    public void setReconciliationInterval(int reconciliationInterval) {
+        this.reconciliationInterval = reconciliationInterval;
+    }
 }
@@ -16,10 +16,14 @@ import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 import static org.openhab.core.thing.Thing.*;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +32,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -42,6 +47,7 @@ import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueEventStream;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
@@ -68,6 +74,7 @@ import org.openhab.core.thing.binding.ConfigStatusBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.StateOption;
+import org.openhab.io.metrics.BindingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,10 +105,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
 
+    // events that arrive within this delay are processed together, e.g. the events of all lights of a group
+    private static final long EVENT_PROCESSING_DELAY_MS = 50;
+
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionProvider stateDescriptionOptionProvider;
     private final TranslationProvider i18nProvider;
     private final LocaleProvider localeProvider;
+    private final @Nullable BindingMetrics bindingMetrics;
 
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
@@ -112,6 +123,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, GroupStatusListener> groupStatusListeners = new ConcurrentHashMap<>();
 
+    private final Set<String> pendingLightIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingSensorIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingGroupIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean eventProcessingScheduled = new AtomicBoolean();
+
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
@@ -190,21 +206,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullSensor sensor : hueBridge.getSensors()) {
                 String sensorId = sensor.getId();
-
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener == null) {
-                    logger.trace("Hue sensor '{}' added.", sensorId);
-
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
-                        discovery.addSensorDiscovery(sensor);
-                    }
-
-                    lastSensorStates.put(sensorId, sensor);
-                } else {
-                    if (sensorStatusListener.onSensorStateChanged(sensor)) {
-                        lastSensorStates.put(sensorId, sensor);
-                    }
-                }
+                updateSensor(sensor, lastSensorStateCopy.containsKey(sensorId), discovery);
                 lastSensorStateCopy.remove(sensorId);
             }
 
@@ -246,21 +248,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
-
-                final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
-                if (lightStatusListener == null) {
-                    logger.trace("Hue light '{}' added.", lightId);
-
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
-                        discovery.addLightDiscovery(fullLight);
-                    }
-
-                    lastLightStates.put(lightId, fullLight);
-                } else {
-                    if (lightStatusListener.onLightStateChanged(fullLight)) {
-                        lastLightStates.put(lightId, fullLight);
-                    }
-                }
+                updateLight(fullLight, lastLightStateCopy.containsKey(lightId), discovery);
                 lastLightStateCopy.remove(lightId);
             }
 
@@ -288,69 +276,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             final HueDeviceDiscoveryService discovery = discoveryService;
 
             for (final FullGroup fullGroup : groups) {
-                State groupState = new State();
-                boolean on = false;
-                int sumBri = 0;
-                int nbBri = 0;
-                State colorRef = null;
-                HSBType firstColorHsb = null;
-                for (String lightId : fullGroup.getLightIds()) {
-                    FullLight light = lastLightStates.get(lightId);
-                    if (light != null) {
-                        final State lightState = light.getState();
-                        logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
-                                fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
-                                lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
-                                lightState.getColorMode(), lightState.getXY());
-                        if (lightState.isOn()) {
-                            on = true;
-                            sumBri += lightState.getBrightness();
-                            nbBri++;
-                            if (lightState.getColorMode() != null) {
-                                HSBType lightHsb = LightStateConverter.toHSBType(lightState);
-                                if (firstColorHsb == null) {
-                                    // first color light
-                                    firstColorHsb = lightHsb;
-                                    colorRef = lightState;
-                                } else if (!lightHsb.equals(firstColorHsb)) {
-                                    colorRef = null;
-                                }
-                            }
-                        }
-                    }
-                }
-                groupState.setOn(on);
-                groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
-                if (colorRef != null) {
-                    groupState.setColormode(colorRef.getColorMode());
-                    groupState.setHue(colorRef.getHue());
-                    groupState.setSaturation(colorRef.getSaturation());
-                    groupState.setColorTemperature(colorRef.getColorTemperature());
-                    groupState.setXY(colorRef.getXY());
-                }
-                fullGroup.setState(groupState);
-                logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
-                        fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
-                        groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
-                        groupState.getXY());
-
                 String groupId = fullGroup.getId();
-
-                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
-                if (groupStatusListener == null) {
-                    logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
-                            fullGroup.getLightIds().size());
-
-                    if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
-                        discovery.addGroupDiscovery(fullGroup);
-                    }
-
-                    lastGroupStates.put(groupId, fullGroup);
-                } else {
-                    if (groupStatusListener.onGroupStateChanged(fullGroup)) {
-                        lastGroupStates.put(groupId, fullGroup);
-                    }
-                }
+                updateGroup(fullGroup, lastGroupStateCopy.containsKey(groupId), discovery);
                 lastGroupStateCopy.remove(groupId);
             }
 
@@ -371,6 +298,111 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     };
 
+    /**
+     * Fetches the lights, sensors and groups that were reported as changed by the event stream. The groups that
+     * contain a changed light are updated as well.
+     */
+    private final Runnable eventRunnable = new PollingRunnable() {
+        @Override
+        protected void doConnectedRun() throws IOException, ApiException {
+            eventProcessingScheduled.set(false);
+
+            final HueDeviceDiscoveryService discovery = discoveryService;
+
+            Set<String> lightIds = drain(pendingLightIds);
+            for (String lightId : lightIds) {
+                try {
+                    updateLight(hueBridge.getFullLight(lightId), lastLightStates.containsKey(lightId), discovery);
+                } catch (EntityNotAvailableException e) {
+                    logger.debug("Hue light '{}' not available anymore, polling all lights", lightId);
+                    pollAll();
+                }
+            }
+
+            for (String sensorId : drain(pendingSensorIds)) {
+                try {
+                    updateSensor(hueBridge.getSensor(sensorId), lastSensorStates.containsKey(sensorId), discovery);
+                } catch (EntityNotAvailableException e) {
+                    logger.debug("Hue sensor '{}' not available anymore, polling all sensors", sensorId);
+                    pollAll();
+                }
+            }
+
+            Set<String> groupIds = drain(pendingGroupIds);
+            if (!lightIds.isEmpty()) {
+                lastGroupStates.forEach((groupId, group) -> {
+                    if (!Collections.disjoint(group.getLightIds(), lightIds)) {
+                        groupIds.add(groupId);
+                    }
+                });
+            }
+            for (String groupId : groupIds) {
+                // new groups are added by the next poll
+                if (lastGroupStates.containsKey(groupId)) {
+                    try {
+                        updateGroup(hueBridge.getGroup(groupId), true, discovery);
+                    } catch (EntityNotAvailableException e) {
+                        logger.debug("Hue group '{}' not available anymore, polling all groups", groupId);
+                        pollAll();
+                    }
+                }
+            }
+        }
+
+        private Set<String> drain(Set<String> ids) {
+            Set<String> drained = new HashSet<>();
+            for (Iterator<String> iterator = ids.iterator(); iterator.hasNext();) {
+                drained.add(iterator.next());
+                iterator.remove();
+            }
+            return drained;
+        }
+    };
+
+    private final HueEventStream.Listener eventStreamListener = new HueEventStream.Listener() {
+        @Override
+        public void onConnected() {
+            logger.debug("Event stream of Hue Bridge {} connected, polling every {}s", hueBridgeConfig.getIpAddress(),
+                    hueBridgeConfig.getReconciliationInterval());
+            eventStreamConnected = true;
+            // the changes missed before the stream was connected are fetched by the first poll
+            restartPolling();
+        }
+
+        @Override
+        public void onDisconnected(String reason) {
+            logger.debug("Event stream of Hue Bridge {} disconnected ({}), polling again",
+                    hueBridgeConfig.getIpAddress(), reason);
+            eventStreamConnected = false;
+            restartPolling();
+        }
+
+        @Override
+        public void onResourceChanged(String eventType, String resourceType, String id) {
+            if (!HueEventStream.EVENT_UPDATE.equals(eventType)) {
+                // added and deleted resources are handled like in the poll, including the discovery
+                pollAll();
+                return;
+            }
+            switch (resourceType) {
+                case HueEventStream.LIGHTS:
+                    pendingLightIds.add(id);
+                    break;
+                case HueEventStream.SENSORS:
+                    pendingSensorIds.add(id);
+                    break;
+                case HueEventStream.GROUPS:
+                    pendingGroupIds.add(id);
+                    break;
+                default:
+                    return;
+            }
+            if (eventProcessingScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(eventRunnable, EVENT_PROCESSING_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    };
+
     private final Runnable scenePollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
@@ -402,6 +434,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private @Nullable ScheduledFuture<?> sensorPollingJob;
     private @Nullable ScheduledFuture<?> scenePollingJob;
 
+    private @Nullable HueEventStream eventStream;
+    private volatile boolean eventStreamConnected = false;
+
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
 
@@ -409,10 +444,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     public HueBridgeHandler(Bridge bridge, HueStateDescriptionProvider stateDescriptionOptionProvider,
             TranslationProvider i18nProvider, LocaleProvider localeProvider) {
+        this(bridge, stateDescriptionOptionProvider, i18nProvider, localeProvider, null);
+    }
+
+    /**
+     * @param bindingMetrics metrics to publish the command queue of the bridge to, or <code>null</code> if metrics are
+     *            not published
+     */
+    public HueBridgeHandler(Bridge bridge, HueStateDescriptionProvider stateDescriptionOptionProvider,
+            TranslationProvider i18nProvider, LocaleProvider localeProvider, @Nullable BindingMetrics bindingMetrics) {
         super(bridge);
         this.stateDescriptionOptionProvider = stateDescriptionOptionProvider;
         this.i18nProvider = i18nProvider;
         this.localeProvider = localeProvider;
+        this.bindingMetrics = bindingMetrics;
     }
 
     @Override
@@ -592,6 +637,113 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void updateLight(FullLight fullLight, boolean known, @Nullable HueDeviceDiscoveryService discovery) {
+        final String lightId = fullLight.getId();
+
+        final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
+        if (lightStatusListener == null) {
+            logger.trace("Hue light '{}' added.", lightId);
+
+            if (discovery != null && !known) {
+                discovery.addLightDiscovery(fullLight);
+            }
+
+            lastLightStates.put(lightId, fullLight);
+        } else {
+            if (lightStatusListener.onLightStateChanged(fullLight)) {
+                lastLightStates.put(lightId, fullLight);
+            }
+        }
+    }
+
+    private void updateSensor(FullSensor sensor, boolean known, @Nullable HueDeviceDiscoveryService discovery) {
+        String sensorId = sensor.getId();
+
+        final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+        if (sensorStatusListener == null) {
+            logger.trace("Hue sensor '{}' added.", sensorId);
+
+            if (discovery != null && !known) {
+                discovery.addSensorDiscovery(sensor);
+            }
+
+            lastSensorStates.put(sensorId, sensor);
+        } else {
+            if (sensorStatusListener.onSensorStateChanged(sensor)) {
+                lastSensorStates.put(sensorId, sensor);
+            }
+        }
+    }
+
+    /**
+     * Update a group, its state is computed from the last known states of its lights.
+     */
+    private void updateGroup(FullGroup fullGroup, boolean known, @Nullable HueDeviceDiscoveryService discovery) {
+        State groupState = new State();
+        boolean on = false;
+        int sumBri = 0;
+        int nbBri = 0;
+        State colorRef = null;
+        HSBType firstColorHsb = null;
+        for (String lightId : fullGroup.getLightIds()) {
+            FullLight light = lastLightStates.get(lightId);
+            if (light != null) {
+                final State lightState = light.getState();
+                logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
+                        fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
+                        lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
+                        lightState.getColorMode(), lightState.getXY());
+                if (lightState.isOn()) {
+                    on = true;
+                    sumBri += lightState.getBrightness();
+                    nbBri++;
+                    if (lightState.getColorMode() != null) {
+                        HSBType lightHsb = LightStateConverter.toHSBType(lightState);
+                        if (firstColorHsb == null) {
+                            // first color light
+                            firstColorHsb = lightHsb;
+                            colorRef = lightState;
+                        } else if (!lightHsb.equals(firstColorHsb)) {
+                            colorRef = null;
+                        }
+                    }
+                }
+            }
+        }
+        groupState.setOn(on);
+        groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
+        if (colorRef != null) {
+            groupState.setColormode(colorRef.getColorMode());
+            groupState.setHue(colorRef.getHue());
+            groupState.setSaturation(colorRef.getSaturation());
+            groupState.setColorTemperature(colorRef.getColorTemperature());
+            groupState.setXY(colorRef.getXY());
+        }
+        fullGroup.setState(groupState);
+        logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
+                fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
+                groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
+                groupState.getXY());
+
+        String groupId = fullGroup.getId();
+
+        final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
+        if (groupStatusListener == null) {
+            logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
+                    fullGroup.getLightIds().size());
+
+            if (discovery != null && !known) {
+                discovery.addGroupDiscovery(fullGroup);
+            }
+
+            lastGroupStates.put(groupId, fullGroup);
+        } else {
+            if (groupStatusListener.onGroupStateChanged(fullGroup)) {
+                lastGroupStates.put(groupId, fullGroup);
+            }
+        }
+    }
+
     private void startLightPolling() {
         ScheduledFuture<?> job = lightPollingJob;
         if (job == null || job.isCancelled()) {
@@ -604,6 +756,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 lightPollingInterval = configPollingInterval;
             }
+            if (eventStreamConnected) {
+                // changes are received from the event stream, polling only catches up on missed events
+                lightPollingInterval = Math.max(lightPollingInterval, hueBridgeConfig.getReconciliationInterval());
+            }
             // Delay the first execution to give a chance to have all light and group things registered
             lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
                     TimeUnit.SECONDS);
@@ -631,6 +787,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
+                if (eventStreamConnected) {
+                    sensorPollingInterval = Math.max(sensorPollingInterval,
+                            TimeUnit.SECONDS.toMillis(hueBridgeConfig.getReconciliationInterval()));
+                }
                 // Delay the first execution to give a chance to have all sensor things registered
                 sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
                         TimeUnit.MILLISECONDS);
@@ -646,6 +806,64 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         sensorPollingJob = null;
     }
 
+    /**
+     * Restart the polling of lights and sensors with the intervals that apply to the current state of the event
+     * stream. A running poll is not interrupted.
+     */
+    private synchronized void restartPolling() {
+        if (hueBridge == null) {
+            return;
+        }
+        ScheduledFuture<?> job = lightPollingJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        lightPollingJob = null;
+        job = sensorPollingJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        sensorPollingJob = null;
+        startLightPolling();
+        startSensorPolling();
+    }
+
+    private void pollAll() {
+        scheduler.execute(lightPollingRunnable);
+        scheduler.execute(sensorPollingRunnable);
+    }
+
+    private synchronized void startEventStream() {
+        String userName = hueBridgeConfig.getUserName();
+        if (eventStream != null || userName == null || !hueBridgeConfig.isEventStream()
+                || !HueBridgeConfig.HTTPS.equals(hueBridgeConfig.getProtocol())) {
+            return;
+        }
+        try {
+            URI uri = new URI(HueBridgeConfig.HTTPS, null, hueBridgeConfig.getIpAddress(), hueBridgeConfig.getPort(),
+                    HueEventStream.PATH, null, null);
+            HueEventStream stream = new HueEventStream(uri, userName, eventStreamListener,
+                    "OH-binding-" + thing.getUID() + "-eventstream");
+            stream.start();
+            eventStream = stream;
+        } catch (URISyntaxException e) {
+            logger.warn("Cannot connect to the event stream of Hue Bridge {}: {}", hueBridgeConfig.getIpAddress(),
+                    e.getMessage());
+        }
+    }
+
+    private synchronized void stopEventStream() {
+        HueEventStream stream = eventStream;
+        if (stream != null) {
+            stream.stop();
+        }
+        eventStream = null;
+        eventStreamConnected = false;
+        pendingLightIds.clear();
+        pendingSensorIds.clear();
+        pendingGroupIds.clear();
+    }
+
     private void startScenePolling() {
         ScheduledFuture<?> job = scenePollingJob;
         if (job == null || job.isCancelled()) {
@@ -670,10 +888,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         if (job != null) {
             job.cancel(true);
         }
+        stopEventStream();
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
         if (hueBridge != null) {
+            BindingMetrics localBindingMetrics = bindingMetrics;
+            if (localBindingMetrics != null) {
+                hueBridge.getCommandScheduler().removeMetrics();
+                localBindingMetrics.removeMeters(getThing().getUID());
+            }
             hueBridge = null;
         }
     }
@@ -688,9 +912,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                     "@text/offline.conf-error-no-ip-address");
         } else {
+            if (hueBridgeConfig.isEventStream() && !HueBridgeConfig.HTTPS.equals(hueBridgeConfig.getProtocol())) {
+                logger.warn("The event stream of Hue Bridge {} is only available via HTTPS, polling instead.", ip);
+            }
             if (hueBridge == null) {
                 hueBridge = new HueBridge(ip, hueBridgeConfig.getPort(), hueBridgeConfig.getProtocol(), scheduler);
                 hueBridge.setTimeout(5000);
+                BindingMetrics localBindingMetrics = bindingMetrics;
+                if (localBindingMetrics != null) {
+                    hueBridge.getCommandScheduler().setMetrics(localBindingMetrics, getThing().getUID());
+                }
 
                 updateStatus(ThingStatus.UNKNOWN);
 
@@ -769,6 +1000,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             return false;
         } else {
             onConnectionResumed();
+            startEventStream();
             return true;
         }
     }
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Unit tests for {@link HueCommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandSchedulerTest {
+    private static final String SUCCESS = "[{\"success\":{}}]";
+
+    private HttpClient http = mock(HttpClient.class);
+    private ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private List<Runnable> scheduledJobs = new ArrayList<>();
+    private List<Long> scheduledDelays = new ArrayList<>();
+
+    private HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler,
+            id -> "groups/" + id + "/action", 0, 0);
+
+    @BeforeEach
+    void init() throws IOException {
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any())).thenAnswer(invocation -> {
+            scheduledJobs.add(invocation.getArgument(0));
+            scheduledDelays.add(invocation.getArgument(1));
+            return mock(ScheduledFuture.class);
+        });
+        when(http.put(anyString(), anyString())).thenReturn(new Result(SUCCESS, 200));
+    }
+
+    private void runScheduledJobs() {
+        while (!scheduledJobs.isEmpty()) {
+            scheduledJobs.remove(0).run();
+        }
+    }
+
+    private CompletableFuture<Result> setLightOn(String lightId) {
+        return commandScheduler.submitLightCommand(lightId, "lights/" + lightId + "/state",
+                new StateUpdate().setOn(true));
+    }
+
+    private void setGroup(String groupId, String... lightIds) {
+        FullGroup group = new FullGroup(groupId, "Group " + groupId, "Room", new State(), List.of(lightIds),
+                new State());
+        commandScheduler.setGroups(List.of(group));
+    }
+
+    /**
+     * Updates of a light that is still queued are merged, the later value of an attribute wins.
+     */
+    @Test
+    public void queuedUpdatesAreCoalesced() throws IOException {
+        CompletableFuture<Result> first = commandScheduler.submitLightCommand("1", "lights/1/state",
+                new StateUpdate().setOn(true).setBrightness(10));
+        CompletableFuture<Result> second = commandScheduler.submitLightCommand("1", "lights/1/state",
+                new StateUpdate().setBrightness(100));
+        assertEquals(1, commandScheduler.getQueueSize());
+
+        runScheduledJobs();
+
+        verify(http).put("lights/1/state", "{\"on\":true,\"bri\":100}");
+        verifyNoMoreInteractions(http);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(1, commandScheduler.getCoalescedCommands());
+        assertEquals(0, commandScheduler.getQueueSize());
+    }
+
+    /**
+     * An update is not merged into a queued light command if a group command for the light is queued after it.
+     */
+    @Test
+    public void updatesAreNotCoalescedAcrossGroupCommand() throws IOException {
+        setGroup("5", "1", "2");
+        setLightOn("1");
+        commandScheduler.submitGroupCommand("groups/5/action", new StateUpdate().setOn(false));
+        CompletableFuture<Result> last = setLightOn("1");
+        assertEquals(3, commandScheduler.getQueueSize());
+        assertEquals(0, commandScheduler.getCoalescedCommands());
+
+        runScheduledJobs();
+
+        InOrder inOrder = inOrder(http);
+        inOrder.verify(http).put("lights/1/state", "{\"on\":true}");
+        inOrder.verify(http).put("groups/5/action", "{\"on\":false}");
+        inOrder.verify(http).put("lights/1/state", "{\"on\":true}");
+        verifyNoMoreInteractions(http);
+        assertTrue(last.isDone());
+    }
+
+    /**
+     * Identical commands for all lights of a group are sent as one group command, other lights are not affected.
+     */
+    @Test
+    public void identicalLightCommandsAreReplacedByGroupCommand() throws IOException {
+        setGroup("5", "1", "2", "3");
+        List<CompletableFuture<Result>> futures = List.of(setLightOn("1"), setLightOn("2"), setLightOn("3"),
+                setLightOn("4"));
+
+        runScheduledJobs();
+
+        verify(http).put("groups/5/action", "{\"on\":true}");
+        verify(http).put("lights/4/state", "{\"on\":true}");
+        verifyNoMoreInteractions(http);
+        futures.forEach(future -> assertTrue(future.isDone()));
+        assertEquals(3, commandScheduler.getSubstitutedCommands());
+    }
+
+    /**
+     * A group is only used if all of its lights have the same command.
+     */
+    @Test
+    public void partiallyCoveredGroupIsNotUsed() throws IOException {
+        setGroup("5", "1", "2", "3");
+        setLightOn("1");
+        setLightOn("2");
+
+        runScheduledJobs();
+
+        verify(http).put("lights/1/state", "{\"on\":true}");
+        verify(http).put("lights/2/state", "{\"on\":true}");
+        verifyNoMoreInteractions(http);
+        assertEquals(0, commandScheduler.getSubstitutedCommands());
+    }
+
+    /**
+     * If the group command fails, the commands are sent to the lights.
+     */
+    @Test
+    public void failedGroupCommandFallsBackToLights() throws IOException {
+        setGroup("5", "1", "2");
+        when(http.put(eq("groups/5/action"), anyString()))
+                .thenReturn(new Result("[{\"error\":{\"type\":3,\"description\":\"not available\"}}]", 200));
+        setLightOn("1");
+        setLightOn("2");
+
+        runScheduledJobs();
+
+        verify(http).put("groups/5/action", "{\"on\":true}");
+        verify(http).put("lights/1/state", "{\"on\":true}");
+        verify(http).put("lights/2/state", "{\"on\":true}");
+        assertEquals(0, commandScheduler.getSubstitutedCommands());
+    }
+
+    /**
+     * Commands after the first one are delayed to stay within the rate the bridge can handle.
+     */
+    @Test
+    public void commandsAreRateLimited() {
+        commandScheduler = new HueCommandScheduler(http, scheduler, id -> "groups/" + id + "/action",
+                HueCommandScheduler.LIGHT_COMMAND_INTERVAL_MS, HueCommandScheduler.GROUP_COMMAND_INTERVAL_MS);
+        setLightOn("1");
+        setLightOn("2");
+        assertEquals(List.of(0L), scheduledDelays);
+
+        scheduledJobs.remove(0).run();
+
+        assertEquals(2, scheduledDelays.size());
+        assertTrue(scheduledDelays.get(1) > 0);
+        assertTrue(scheduledDelays.get(1) <= HueCommandScheduler.LIGHT_COMMAND_INTERVAL_MS);
+    }
+}
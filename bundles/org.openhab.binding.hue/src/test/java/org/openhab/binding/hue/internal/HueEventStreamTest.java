@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link HueEventStream} against a local stand-in for the event stream of the bridge.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStreamTest {
+    private static final String LIGHT_AND_SENSOR_EVENT = "[{\"creationtime\":\"2022-02-01T10:00:00Z\",\"data\":["
+            + "{\"id\":\"4a0b1d0a-0b2c-4d5e-8f90-a1b2c3d4e5f6\",\"id_v1\":\"/lights/3\",\"on\":{\"on\":true},"
+            + "\"type\":\"light\"},{\"id\":\"5b1c2e1b-1c3d-4e6f-9a01-b2c3d4e5f6a7\",\"id_v1\":\"/sensors/12\","
+            + "\"motion\":{\"motion\":true},\"type\":\"motion\"}],\"id\":\"1\",\"type\":\"update\"}]";
+    private static final String GROUP_EVENT = "[{\"data\":[{\"id_v1\":\"/groups/1\",\"type\":\"grouped_light\"},"
+            + "{\"id_v1\":\"/scenes/abc\",\"type\":\"scene\"},{\"type\":\"bridge\"}],\"type\":\"delete\"}]";
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> applicationKeys = new LinkedBlockingQueue<>();
+    private final CountDownLatch closeStream = new CountDownLatch(1);
+
+    private @Nullable HttpServer server;
+    private @Nullable HueEventStream eventStream;
+
+    private final HueEventStream.Listener listener = new HueEventStream.Listener() {
+        @Override
+        public void onConnected() {
+            received.add("connected");
+        }
+
+        @Override
+        public void onDisconnected(String reason) {
+            received.add("disconnected");
+        }
+
+        @Override
+        public void onResourceChanged(String eventType, String resourceType, String id) {
+            received.add(eventType + " " + resourceType + " " + id);
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        closeStream.countDown();
+        HueEventStream eventStream = this.eventStream;
+        if (eventStream != null) {
+            eventStream.stop();
+        }
+        HttpServer server = this.server;
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private URI startServer(String... events) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(HueEventStream.PATH, exchange -> {
+            applicationKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("hue-application-key")));
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(": hi\n\n".getBytes(StandardCharsets.UTF_8));
+                for (String event : events) {
+                    out.write(("id: 1:0\ndata: " + event + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                // keep the stream open like the bridge does
+                closeStream.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        this.server = server;
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+                + HueEventStream.PATH);
+    }
+
+    private @Nullable String next() throws InterruptedException {
+        return received.poll(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void changesAreReportedWithV1Ids() throws Exception {
+        URI uri = startServer(LIGHT_AND_SENSOR_EVENT, "not json", GROUP_EVENT);
+        HueEventStream eventStream = new HueEventStream(uri, "username", listener, "test-eventstream");
+        this.eventStream = eventStream;
+        eventStream.start();
+
+        assertEquals("connected", next());
+        assertEquals("update lights 3", next());
+        assertEquals("update sensors 12", next());
+        // the malformed event and resources without a light, sensor or group are ignored
+        assertEquals("delete groups 1", next());
+        assertTrue(eventStream.isConnected());
+        assertEquals("username", applicationKeys.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void multiLineEventData() {
+        HueEventStream eventStream = new HueEventStream(URI.create("http://localhost" + HueEventStream.PATH),
+                "username", listener, "test-eventstream");
+
+        eventStream.processEvent("[{\"type\":\"update\",\n\"data\":[{\"id_v1\":\"/lights/7\"}]}]");
+        eventStream.processEvent("{\"type\":\"update\"}");
+        eventStream.processEvent("[{\"type\":\"update\",\"data\":[{\"id_v1\":\"/lights/\"}]}]");
+
+        assertEquals(List.of("update lights 7"), List.copyOf(received));
+    }
+}
@@ -26,6 +26,7 @@ import java.net.URL;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -261,11 +262,9 @@ public class IpCameraHandler extends BaseThingHandler {
                     HttpContent content = (HttpContent) msg;
                     if (mjpegUri.equals(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            localServlet.openStreams.queueChunk(content.content());
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -1666,9 +1665,15 @@ public class IpCameraHandler extends BaseThingHandler {
         CameraServlet localServlet = servlet;
         if (localServlet != null && !localServlet.openStreams.isEmpty()) {
             if (!mjpegUri.isEmpty() && !"ffmpeg".equals(mjpegUri)) {
-                localServlet.openStreams.queueFrame(("--" + localServlet.openStreams.boundary + "\r\n\r\n").getBytes());
+                // queued as a single frame, so it can not be split up when stale frames are dropped.
+                byte[] header = ("--" + localServlet.openStreams.boundary + "\r\n\r\n").getBytes();
+                byte[] snapshot = getSnapshot();
+                byte[] frame = Arrays.copyOf(header, header.length + snapshot.length);
+                System.arraycopy(snapshot, 0, frame, header.length, snapshot.length);
+                localServlet.openStreams.queueFrame(frame);
+            } else {
+                localServlet.openStreams.queueFrame(getSnapshot());
             }
-            localServlet.openStreams.queueFrame(getSnapshot());
         }
     }
 
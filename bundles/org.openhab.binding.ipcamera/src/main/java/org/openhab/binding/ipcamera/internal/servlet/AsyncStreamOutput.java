@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link AsyncStreamOutput} Streams mjpeg out to a client without blocking a thread. The frames are shared with
+ * all other clients and are only released once every client has written them. A client that can not keep up only
+ * gets the latest frames, stale frames are dropped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AsyncStreamOutput implements WriteListener, AsyncListener {
+    public static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+    private static final int MAX_QUEUED_FRAMES = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AsyncContext asyncContext;
+    private final HttpServletResponse response;
+    private final ServletOutputStream output;
+    private final boolean isSnapshotBased;
+    private final Consumer<AsyncStreamOutput> closedListener;
+    private final String client;
+    private final Deque<ByteBuf> frames = new ArrayDeque<>(MAX_QUEUED_FRAMES + 1);
+    private @Nullable ByteBuf currentFrame;
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private int segment;
+    private boolean connected = false;
+    private boolean closed = false;
+    private final long startTime = System.currentTimeMillis();
+    private long framesSent;
+    private long framesDropped;
+    private long bytesSent;
+
+    /**
+     * @param asyncContext The started async context of the request.
+     * @param contentType The Content-Type of the camera stream, or empty if it is not known yet.
+     * @param isSnapshotBased true if the frames are plain jpg files which need to be sent as multipart frames.
+     * @param closedListener Called once if the client goes away or the stream fails.
+     */
+    public AsyncStreamOutput(AsyncContext asyncContext, String contentType, boolean isSnapshotBased,
+            Consumer<AsyncStreamOutput> closedListener) throws IOException {
+        this.asyncContext = asyncContext;
+        this.response = (HttpServletResponse) asyncContext.getResponse();
+        this.isSnapshotBased = isSnapshotBased;
+        this.closedListener = closedListener;
+        this.client = asyncContext.getRequest().getRemoteHost();
+        output = response.getOutputStream();
+        asyncContext.setTimeout(0);
+        if (isSnapshotBased) {
+            updateContentType("multipart/x-mixed-replace; boundary=" + SNAPSHOT_BOUNDARY);
+        } else if (!contentType.isEmpty()) {
+            updateContentType(contentType);
+        }
+    }
+
+    /**
+     * Starts writing the queued frames whenever the client is able to receive them.
+     */
+    public void start() {
+        asyncContext.addListener(this);
+        output.setWriteListener(this);
+    }
+
+    public boolean isSnapshotBased() {
+        return isSnapshotBased;
+    }
+
+    public synchronized void updateContentType(String contentType) {
+        if (!connected) {
+            response.setContentType(contentType);
+            response.setHeader("Access-Control-Allow-Origin", "*");
+            response.setHeader("Access-Control-Expose-Headers", "*");
+            connected = true;
+        }
+    }
+
+    /**
+     * Queues a frame and writes it straight away if the client is ready. The frame is retained until it was
+     * written or dropped, the caller keeps its own reference.
+     */
+    public void queueFrame(ByteBuf frame) {
+        synchronized (this) {
+            if (closed || !connected) {
+                return;
+            }
+            if (isSnapshotBased && framesSent == 0 && currentFrame == null && frames.isEmpty()) {
+                // iOS needs to have two jpgs sent for the picture to appear instantly.
+                frames.add(frame.retain());
+            }
+            frames.add(frame.retain());
+            ByteBuf staleFrame;
+            while (frames.size() > MAX_QUEUED_FRAMES && (staleFrame = frames.poll()) != null) {
+                staleFrame.release();
+                framesDropped++;
+            }
+        }
+        writeFrames();
+    }
+
+    @Override
+    public void onWritePossible() {
+        writeFrames();
+    }
+
+    private void writeFrames() {
+        boolean failed = false;
+        synchronized (this) {
+            try {
+                while (!closed && output.isReady()) {
+                    ByteBuf frame = currentFrame;
+                    if (frame == null) {
+                        frame = frames.poll();
+                        if (frame == null) {
+                            return;
+                        }
+                        currentFrame = frame;
+                        segments = frame.nioBuffers();
+                        segment = 0;
+                    }
+                    if (segment < segments.length) {
+                        write(segments[segment++]);
+                    } else if (segment == segments.length) {
+                        segment++;
+                        output.flush();
+                    } else {
+                        // the container has taken over all bytes of the frame, so it can be released.
+                        framesSent++;
+                        bytesSent += frame.readableBytes();
+                        frame.release();
+                        currentFrame = null;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("ipcamera.mjpeg stream to {} failed:{}", client, e.getMessage());
+                failed = true;
+            }
+        }
+        if (failed) {
+            closeAndNotify();
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.duplicate().get(copy);
+            output.write(copy);
+        }
+    }
+
+    /**
+     * @return The average number of frames per second written to the client.
+     */
+    public synchronized double getFps() {
+        long duration = System.currentTimeMillis() - startTime;
+        return duration > 0 ? framesSent * 1000.0 / duration : 0;
+    }
+
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    public synchronized long getFramesDropped() {
+        return framesDropped;
+    }
+
+    @Override
+    public void onError(@Nullable Throwable t) {
+        logger.debug("ipcamera.mjpeg stream to {} failed:{}", client, t == null ? "" : t.getMessage());
+        closeAndNotify();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) {
+        closeAndNotify();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) {
+        closeAndNotify();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) {
+        closeAndNotify();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) {
+    }
+
+    /**
+     * Closes the stream without notifying the closed listener.
+     */
+    public void close() {
+        if (release()) {
+            complete();
+        }
+    }
+
+    private void closeAndNotify() {
+        if (release()) {
+            complete();
+            // outside of the lock, as the listener locks the list of open streams.
+            closedListener.accept(this);
+        }
+    }
+
+    /**
+     * @return true if the stream was open before.
+     */
+    private synchronized boolean release() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        ByteBuf frame = currentFrame;
+        if (frame != null) {
+            frame.release();
+            currentFrame = null;
+        }
+        while ((frame = frames.poll()) != null) {
+            frame.release();
+        }
+        logger.debug("ipcamera.mjpeg stream to {} closed after {} frames ({} fps), {} bytes, {} stale frames dropped",
+                client, framesSent, String.format("%.1f", getFps()), bytesSent, framesDropped);
+        return true;
+    }
+
+    private void complete() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed by the container.
+        }
+    }
+}
@@ -175,6 +175,10 @@ public class CameraServlet extends IpCameraServlet {
                     }
                 } while (true);
             case "/ipcamera.mjpeg":
+                if (req.isAsyncSupported()) {
+                    startAsyncMjpegStream(req);
+                    return;
+                }
                 if (openStreams.isEmpty()) {
                     logger.debug("First stream requested, opening up stream from camera");
                     handler.openCamerasStream();
@@ -203,18 +207,7 @@ public class CameraServlet extends IpCameraServlet {
                     } catch (InterruptedException | IOException e) {
                         // Never stop streaming until IOException. Occurs when browser stops the stream.
                         openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
+                        mjpegStreamStopped(output.isSnapshotBased);
                         return;
                     }
                 } while (!openStreams.isEmpty());
@@ -264,6 +257,49 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    /**
+     * Serves ipcamera.mjpeg without blocking a thread for each client. All clients share the same frames.
+     */
+    private void startAsyncMjpegStream(HttpServletRequest req) throws IOException {
+        boolean isSnapshotBased = handler.mjpegUri.isEmpty() || "ffmpeg".equals(handler.mjpegUri);
+        if (openStreams.isEmpty()) {
+            logger.debug("First stream requested, opening up stream from camera");
+            handler.openCamerasStream();
+        } else if (!isSnapshotBased) {
+            ChannelTracking tracker = handler.channelTrackingMap.get(handler.mjpegUri);
+            if (tracker == null || !tracker.getChannel().isOpen()) {
+                logger.debug("Not the first stream requested but the stream from camera was closed");
+                handler.openCamerasStream();
+                openStreams.closeAllStreams();
+            }
+        }
+        AsyncStreamOutput output = new AsyncStreamOutput(req.startAsync(), handler.mjpegContentType, isSnapshotBased,
+                this::asyncMjpegStreamClosed);
+        // the write listener has to be set before the first frame can be queued.
+        output.start();
+        openStreams.addStream(output);
+    }
+
+    private void asyncMjpegStreamClosed(AsyncStreamOutput output) {
+        openStreams.removeStream(output);
+        mjpegStreamStopped(output.isSnapshotBased());
+    }
+
+    private void mjpegStreamStopped(boolean isSnapshotBased) {
+        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+        if (openStreams.isEmpty()) {
+            if (isSnapshotBased) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * The {@link MjpegFrameAssembler} Joins the chunks of a cameras multipart mjpeg stream into whole frames, so that
+ * complete frames can be dropped for clients which can not keep up. Each frame starts with the boundary of the
+ * stream and is copied only once into a pooled buffer that is shared by all clients.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MjpegFrameAssembler {
+    private static final int INITIAL_BUFFER_SIZE = 128 * 1024;
+    private static final int MAX_FRAME_SIZE = 8 * 1024 * 1024;
+
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final Consumer<ByteBuf> frameConsumer;
+    private byte[] delimiter = new byte[0];
+    private @Nullable ByteBuf pending;
+
+    /**
+     * @param frameConsumer Receives the frames. The consumer has to release each frame once it is done with it.
+     */
+    public MjpegFrameAssembler(Consumer<ByteBuf> frameConsumer) {
+        this.frameConsumer = frameConsumer;
+    }
+
+    public synchronized void setBoundary(String boundary) {
+        delimiter = boundary.isEmpty() ? new byte[0] : ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        reset();
+    }
+
+    /**
+     * Adds a chunk of the camera stream. The chunk is not retained.
+     */
+    public synchronized void addChunk(ByteBuf chunk) {
+        int length = chunk.readableBytes();
+        if (length == 0) {
+            return;
+        }
+        if (delimiter.length == 0) {
+            // Without a boundary the frames can not be found, so the chunks are passed on as they are.
+            ByteBuf copy = allocator.heapBuffer(length);
+            copy.writeBytes(chunk, chunk.readerIndex(), length);
+            frameConsumer.accept(copy);
+            return;
+        }
+        ByteBuf buffer = pending;
+        if (buffer == null) {
+            buffer = allocator.heapBuffer(Math.max(length, INITIAL_BUFFER_SIZE));
+            pending = buffer;
+        }
+        int searchFrom = Math.max(buffer.readerIndex() + 1, buffer.writerIndex() - delimiter.length + 1);
+        buffer.writeBytes(chunk, chunk.readerIndex(), length);
+
+        int index;
+        boolean emitted = false;
+        while ((index = indexOf(buffer, searchFrom)) >= 0) {
+            frameConsumer.accept(buffer.retainedSlice(buffer.readerIndex(), index - buffer.readerIndex()));
+            buffer.readerIndex(index);
+            searchFrom = index + 1;
+            emitted = true;
+        }
+        if (buffer.readableBytes() > MAX_FRAME_SIZE) {
+            frameConsumer.accept(buffer);
+            pending = null;
+        } else if (emitted) {
+            // The emitted frames keep the old buffer alive until all clients have sent them.
+            ByteBuf remainder = allocator.heapBuffer(Math.max(buffer.readableBytes(), INITIAL_BUFFER_SIZE));
+            remainder.writeBytes(buffer);
+            buffer.release();
+            pending = remainder;
+        }
+    }
+
+    private int indexOf(ByteBuf buffer, int from) {
+        int last = buffer.writerIndex() - delimiter.length;
+        outer: for (int i = from; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer.getByte(i + j) != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Drops the part of a frame which has not been completed yet.
+     */
+    public synchronized void reset() {
+        ByteBuf buffer = pending;
+        if (buffer != null) {
+            buffer.release();
+            pending = null;
+        }
+    }
+}
@@ -12,16 +12,22 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 /**
  * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
- *
+ * 1 to many streams without needing to open more than 1 source stream. Streams that do not block a thread share
+ * the same ref counted frames instead of having their own FIFO buffers.
  *
  * @author Matthew Skinner - Initial contribution
  */
@@ -29,35 +35,109 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class OpenStreams {
     private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<StreamOutput>());
+    private List<AsyncStreamOutput> asyncStreams = new CopyOnWriteArrayList<>();
+    private final MjpegFrameAssembler frameAssembler = new MjpegFrameAssembler(this::queueAssembledFrame);
     public String boundary = "thisMjpegStream";
 
     public synchronized void addStream(StreamOutput stream) {
         openStreams.add(stream);
     }
 
+    public synchronized void addStream(AsyncStreamOutput stream) {
+        asyncStreams.add(stream);
+    }
+
     public synchronized void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
     }
 
+    public synchronized void removeStream(AsyncStreamOutput stream) {
+        asyncStreams.remove(stream);
+    }
+
     public synchronized int getNumberOfStreams() {
-        return openStreams.size();
+        return openStreams.size() + asyncStreams.size();
     }
 
     public synchronized boolean isEmpty() {
-        return openStreams.isEmpty();
+        return openStreams.isEmpty() && asyncStreams.isEmpty();
     }
 
     public synchronized void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        frameAssembler.setBoundary(boundary);
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
+        for (AsyncStreamOutput stream : asyncStreams) {
+            stream.updateContentType(contentType);
+        }
+    }
+
+    /**
+     * Queues a chunk of the cameras own mjpeg stream. The chunks are joined into whole frames first.
+     */
+    public synchronized void queueChunk(ByteBuf chunk) {
+        frameAssembler.addChunk(chunk);
     }
 
+    /**
+     * Queues a whole frame, which is a jpg for snapshot based streams.
+     */
     public synchronized void queueFrame(byte[] frame) {
         for (StreamOutput stream : openStreams) {
             stream.queueFrame(frame);
         }
+        if (asyncStreams.isEmpty()) {
+            return;
+        }
+        ByteBuf rawFrame = Unpooled.wrappedBuffer(frame);
+        @Nullable
+        ByteBuf snapshotFrame = null;
+        try {
+            for (AsyncStreamOutput stream : asyncStreams) {
+                if (stream.isSnapshotBased()) {
+                    if (snapshotFrame == null) {
+                        snapshotFrame = snapshotFrame(frame);
+                    }
+                    stream.queueFrame(snapshotFrame);
+                } else {
+                    stream.queueFrame(rawFrame);
+                }
+            }
+        } finally {
+            rawFrame.release();
+            if (snapshotFrame != null) {
+                snapshotFrame.release();
+            }
+        }
+    }
+
+    private synchronized void queueAssembledFrame(ByteBuf frame) {
+        try {
+            if (!openStreams.isEmpty()) {
+                byte[] bytes = new byte[frame.readableBytes()];
+                frame.getBytes(frame.readerIndex(), bytes);
+                for (StreamOutput stream : openStreams) {
+                    stream.queueFrame(bytes);
+                }
+            }
+            for (AsyncStreamOutput stream : asyncStreams) {
+                if (!stream.isSnapshotBased()) {
+                    stream.queueFrame(frame);
+                }
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    private static ByteBuf snapshotFrame(byte[] jpg) {
+        String header = "--" + AsyncStreamOutput.SNAPSHOT_BOUNDARY + "\r\n" + "Content-Type: image/jpeg" + "\r\n"
+                + "Content-Length: " + jpg.length + "\r\n\r\n";
+        // The jpg is not copied, all streams write the same array.
+        return Unpooled.wrappedBuffer(header.getBytes(StandardCharsets.US_ASCII), jpg,
+                "\r\n".getBytes(StandardCharsets.US_ASCII));
     }
 
     public synchronized void closeAllStreams() {
@@ -65,5 +145,10 @@ public class OpenStreams {
             stream.close();
         }
         openStreams.clear();
+        for (AsyncStreamOutput stream : asyncStreams) {
+            stream.close();
+        }
+        asyncStreams.clear();
+        frameAssembler.reset();
     }
 }
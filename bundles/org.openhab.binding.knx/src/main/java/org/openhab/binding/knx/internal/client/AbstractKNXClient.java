@@ -16,8 +16,7 @@ import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -88,6 +87,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int readingPause;
     private final int autoReconnectPeriod;
     private final int readRetriesLimit;
+    private final int maxPendingReads;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
 
@@ -100,8 +100,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final ReadDatapointQueue readDatapoints;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -139,12 +139,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     };
 
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int maxPendingReads, ScheduledExecutorService knxScheduler,
+            StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
         this.readRetriesLimit = readRetriesLimit;
+        this.maxPendingReads = maxPendingReads;
+        this.readDatapoints = new ReadDatapointQueue(maxPendingReads);
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
     }
@@ -247,7 +250,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             // register this class, callbacks will be triggered
             link.addLinkListener(this);
 
-            // create a job carrying out read requests
+            // create a job starting a read request per tick, as long as less than maxPendingReads are in flight
             busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
                     TimeUnit.MILLISECONDS);
 
@@ -333,10 +336,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        Set<GroupAddressListener> listeners = groupAddressListeners.getListeners(destination);
+        if (!listeners.isEmpty()) {
+            knxScheduler.execute(() -> {
+                for (GroupAddressListener listener : listeners) {
+                    try {
+                        action.apply(listener, source, destination, asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Processing {} telegram to '{}' failed: {}", task, destination, e.getMessage(),
+                                e);
+                    }
+                }
+            });
         }
     }
 
@@ -352,8 +363,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
     private void readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
@@ -363,31 +372,56 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             return;
         }
         ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
+        if (datapoint == null) {
+            return;
+        }
+        if (maxPendingReads > 1) {
+            // the read blocks until the response is received, so further reads are started by the next ticks
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
-                // KnxIllegArgumentException
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException | CancellationException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
-            } catch (Exception e) {
-                // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
-                // Not catching this would end the scheduled read for all DPs in case of an error.
-                // Severity is warning as this is likely caused by a configuration error.
-                logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
+                knxScheduler.execute(() -> readDatapoint(processCommunicator, datapoint));
+            } catch (RejectedExecutionException e) {
+                // the read was not sent, queue it again so it does not stay pending forever
+                logger.debug("Could not start reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
                         e.getMessage());
+                readDatapoints.complete(datapoint, true);
+            }
+        } else {
+            readDatapoint(processCommunicator, datapoint);
+        }
+    }
+
+    private void readDatapoint(ProcessCommunicator processCommunicator, ReadDatapoint datapoint) {
+        boolean retry = false;
+        datapoint.incrementRetries();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+            processCommunicator.read(datapoint.getDatapoint());
+        } catch (KNXException e) {
+            // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
+            // KnxIllegArgumentException
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                retry = true;
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
+            }
+        } catch (InterruptedException | CancellationException e) {
+            logger.debug("Interrupted sending KNX read request");
+        } catch (Exception e) {
+            // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
+            // Not catching this would end the scheduled read for all DPs in case of an error.
+            // Severity is warning as this is likely caused by a configuration error.
+            logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(), e.getMessage());
+        } finally {
+            if (readDatapoints.complete(datapoint, retry)) {
+                logger.debug("Bridge {} finished reading {} datapoints ({} reads/s)", thingUID,
+                        readDatapoints.getCompletedReads(), String.format("%.1f", readDatapoints.getReadsPerSecond()));
+            } else if (logger.isTraceEnabled()) {
+                logger.trace("Bridge {} read {} of {} datapoints ({} reads/s)", thingUID,
+                        readDatapoints.getCompletedReads(), readDatapoints.getTotalReads(),
+                        String.format("%.1f", readDatapoints.getReadsPerSecond()));
             }
         }
     }
@@ -459,23 +493,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, boolean priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit), priority);
+    }
+
+    /**
+     * Returns the progress of reading the queued datapoints.
+     *
+     * @return the queue of the datapoints to read
+     */
+    public ReadDatapointQueue getReadDatapointQueue() {
+        return readDatapoints;
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return groupAddressListeners.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return groupAddressListeners.unregister(listener);
     }
 
     @Override
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the registered {@link GroupAddressListener}s by the group addresses they listen to, so that a received
+ * telegram can be dispatched without asking every listener.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndex {
+
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new HashMap<>();
+
+    /**
+     * Adds a listener to the index, or updates its group addresses if it has been added before.
+     *
+     * @param listener the listener
+     * @return true if the listener was not registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        boolean added = !unregister(listener);
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByAddress.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+        addressesByListener.put(listener, groupAddresses);
+        return added;
+    }
+
+    /**
+     * Removes a listener from the index.
+     *
+     * @param listener the listener
+     * @return true if the listener was registered
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        Set<GroupAddress> groupAddresses = addressesByListener.remove(listener);
+        if (groupAddresses == null) {
+            return false;
+        }
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByAddress.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Returns the listeners of the given group address.
+     *
+     * @param groupAddress the destination of a telegram
+     * @return the listeners, which is empty if there are none
+     */
+    public Set<GroupAddressListener> getListeners(GroupAddress groupAddress) {
+        return listenersByAddress.getOrDefault(groupAddress, Set.of());
+    }
+}
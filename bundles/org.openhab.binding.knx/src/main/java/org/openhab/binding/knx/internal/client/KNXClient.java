@@ -81,7 +81,7 @@ public interface KNXClient {
      *
      * @param datapoint the datapoint
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, boolean priority);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the data points to be read from the KNX bus, which keeps track of the reads that are in flight.
+ *
+ * Data points are queued once per group address, no matter how many things request them. Priority reads are taken
+ * from the queue before all other reads. At most {@code maxPendingReads} reads are handed out until they are
+ * reported as completed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final int maxPendingReads;
+
+    private final Map<GroupAddress, ReadDatapoint> priorityReads = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> reads = new LinkedHashMap<>();
+    private final Set<GroupAddress> pendingReads = new HashSet<>();
+
+    private long runStartMillis;
+    private long runEndMillis;
+    private int runQueuedReads;
+    private int runCompletedReads;
+
+    /**
+     * @param maxPendingReads maximum number of reads in flight, at least one
+     */
+    public ReadDatapointQueue(int maxPendingReads) {
+        this.maxPendingReads = Math.max(1, maxPendingReads);
+    }
+
+    /**
+     * Queues a data point, unless its group address is already queued or being read.
+     *
+     * @param datapoint the data point to read
+     * @param priority whether the read should be done before all non-priority reads
+     * @return {@code true} if the data point was queued
+     */
+    public synchronized boolean add(ReadDatapoint datapoint, boolean priority) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        if (pendingReads.contains(groupAddress) || priorityReads.containsKey(groupAddress)) {
+            return false;
+        }
+        if (priority) {
+            // a queued read is moved to the priority lane
+            if (reads.remove(groupAddress) == null) {
+                countQueued();
+            }
+            priorityReads.put(groupAddress, datapoint);
+            return true;
+        }
+        if (reads.containsKey(groupAddress)) {
+            return false;
+        }
+        countQueued();
+        reads.put(groupAddress, datapoint);
+        return true;
+    }
+
+    /**
+     * Takes the next data point to read, if the maximum number of reads in flight is not reached.
+     *
+     * @return the data point, or {@code null} if there is none or too many reads are pending
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        if (pendingReads.size() >= maxPendingReads) {
+            return null;
+        }
+        ReadDatapoint datapoint = poll(priorityReads);
+        if (datapoint == null) {
+            datapoint = poll(reads);
+        }
+        if (datapoint != null) {
+            pendingReads.add(datapoint.getDatapoint().getMainAddress());
+        }
+        return datapoint;
+    }
+
+    /**
+     * Reports a read handed out by {@link #poll()} as done.
+     *
+     * @param datapoint the data point
+     * @param retry whether the data point should be queued again
+     * @return {@code true} if no reads are queued or in flight anymore
+     */
+    public synchronized boolean complete(ReadDatapoint datapoint, boolean retry) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        pendingReads.remove(groupAddress);
+        if (retry && !priorityReads.containsKey(groupAddress)) {
+            reads.putIfAbsent(groupAddress, datapoint);
+        } else {
+            runCompletedReads++;
+        }
+        boolean idle = isIdle();
+        if (idle) {
+            runEndMillis = System.currentTimeMillis();
+        }
+        return idle;
+    }
+
+    /**
+     * Removes all queued reads, reads in flight are still reported as completed.
+     */
+    public synchronized void clear() {
+        priorityReads.clear();
+        reads.clear();
+    }
+
+    /**
+     * @return the number of queued reads, not including the reads in flight
+     */
+    public synchronized int getQueuedReads() {
+        return priorityReads.size() + reads.size();
+    }
+
+    /**
+     * @return the number of reads in flight
+     */
+    public synchronized int getPendingReads() {
+        return pendingReads.size();
+    }
+
+    /**
+     * @return the number of reads completed since the queue was last empty
+     */
+    public synchronized int getCompletedReads() {
+        return runCompletedReads;
+    }
+
+    /**
+     * @return the number of reads queued since the queue was last empty
+     */
+    public synchronized int getTotalReads() {
+        return runQueuedReads;
+    }
+
+    /**
+     * @return the average number of completed reads per second since the queue was last empty
+     */
+    public synchronized double getReadsPerSecond() {
+        long end = isIdle() ? runEndMillis : System.currentTimeMillis();
+        long duration = end - runStartMillis;
+        return duration > 0 ? runCompletedReads * 1000.0 / duration : 0;
+    }
+
+    private boolean isIdle() {
+        return pendingReads.isEmpty() && priorityReads.isEmpty() && reads.isEmpty();
+    }
+
+    private void countQueued() {
+        if (isIdle()) {
+            runStartMillis = System.currentTimeMillis();
+            runQueuedReads = 0;
+            runCompletedReads = 0;
+        }
+        runQueuedReads++;
+    }
+
+    private static @Nullable ReadDatapoint poll(Map<GroupAddress, ReadDatapoint> lane) {
+        Iterator<ReadDatapoint> iterator = lane.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+}
@@ -44,10 +44,10 @@ public class SerialClient extends AbstractKNXClient {
     private final boolean useCemi;
 
     public SerialClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, String serialPort, boolean useCemi,
-            StatusUpdateCallback statusUpdateCallback) {
-        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, knxScheduler,
-                statusUpdateCallback);
+            int readRetriesLimit, int maxPendingReads, ScheduledExecutorService knxScheduler, String serialPort,
+            boolean useCemi, StatusUpdateCallback statusUpdateCallback) {
+        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, maxPendingReads,
+                knxScheduler, statusUpdateCallback);
         this.serialPort = serialPort;
         this.useCemi = useCemi;
     }
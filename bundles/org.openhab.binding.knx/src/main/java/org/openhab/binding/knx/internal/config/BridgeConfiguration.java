@@ -28,6 +28,7 @@ public class BridgeConfiguration {
     private BigDecimal readingPause = BigDecimal.valueOf(0);
     private BigDecimal readRetriesLimit = BigDecimal.valueOf(0);
     private BigDecimal responseTimeout = BigDecimal.valueOf(0);
+    private BigDecimal maxPendingReads = BigDecimal.valueOf(1);
 
     public int getAutoReconnectPeriod() {
         return autoReconnectPeriod;
@@ -45,6 +46,10 @@ public class BridgeConfiguration {
         return responseTimeout;
     }
 
+    public BigDecimal getMaxPendingReads() {
+        return maxPendingReads;
+    }
+
     public void setAutoReconnectPeriod(int period) {
         autoReconnectPeriod = period;
     }
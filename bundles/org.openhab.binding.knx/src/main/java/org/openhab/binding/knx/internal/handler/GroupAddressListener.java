@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -33,4 +35,10 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
+
+    /**
+     * Returns all group addresses the GroupAddressListener has an interest in. The client indexes the listeners by
+     * these addresses when they are registered, so listeners need to register again after they changed.
+     */
+    public Set<GroupAddress> getGroupAddresses();
 }
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndexTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 5);
+
+    private GroupAddressListener mockListener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(groupAddresses));
+        return listener;
+    }
+
+    @Test
+    public void testLookup() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        GroupAddressListener listener1 = mockListener(GA_1, GA_2);
+        GroupAddressListener listener2 = mockListener(GA_2);
+
+        assertTrue(index.register(listener1));
+        assertTrue(index.register(listener2));
+
+        assertEquals(Set.of(listener1), index.getListeners(GA_1));
+        assertEquals(Set.of(listener1, listener2), index.getListeners(GA_2));
+        assertTrue(index.getListeners(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testRegisterAgainUpdatesAddresses() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        GroupAddressListener listener = mockListener(GA_1);
+        assertTrue(index.register(listener));
+
+        when(listener.getGroupAddresses()).thenReturn(Set.of(GA_3));
+        assertFalse(index.register(listener));
+
+        assertTrue(index.getListeners(GA_1).isEmpty());
+        assertEquals(Set.of(listener), index.getListeners(GA_3));
+    }
+
+    @Test
+    public void testUnregister() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        GroupAddressListener listener1 = mockListener(GA_1, GA_2);
+        GroupAddressListener listener2 = mockListener(GA_2);
+        index.register(listener1);
+        index.register(listener2);
+
+        assertTrue(index.unregister(listener1));
+        assertFalse(index.unregister(listener1));
+
+        assertTrue(index.getListeners(GA_1).isEmpty());
+        assertEquals(Set.of(listener2), index.getListeners(GA_2));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint datapoint(int sub) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, sub), "test", 0, "1.001"), 3);
+    }
+
+    private static GroupAddress address(@Nullable ReadDatapoint datapoint) {
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testPriorityReadsFirst() {
+        ReadDatapointQueue queue = new ReadDatapointQueue(3);
+        assertTrue(queue.add(datapoint(1), false));
+        assertTrue(queue.add(datapoint(2), true));
+        // queued read moves to the priority lane
+        assertTrue(queue.add(datapoint(3), false));
+        assertTrue(queue.add(datapoint(3), true));
+
+        assertEquals(new GroupAddress(1, 1, 2), address(queue.poll()));
+        assertEquals(new GroupAddress(1, 1, 3), address(queue.poll()));
+        assertEquals(new GroupAddress(1, 1, 1), address(queue.poll()));
+        assertEquals(3, queue.getTotalReads());
+    }
+
+    @Test
+    public void testDuplicatesAreIgnored() {
+        ReadDatapointQueue queue = new ReadDatapointQueue(1);
+        assertTrue(queue.add(datapoint(1), false));
+        assertFalse(queue.add(datapoint(1), false));
+        assertEquals(1, queue.getQueuedReads());
+
+        ReadDatapoint pending = queue.poll();
+        assertNotNull(pending);
+        // already in flight
+        assertFalse(queue.add(datapoint(1), true));
+        assertEquals(0, queue.getQueuedReads());
+        assertTrue(queue.complete(pending, false));
+    }
+
+    @Test
+    public void testWindowLimitsPendingReads() {
+        ReadDatapointQueue queue = new ReadDatapointQueue(2);
+        for (int i = 1; i <= 4; i++) {
+            queue.add(datapoint(i), false);
+        }
+        ReadDatapoint first = queue.poll();
+        assertNotNull(first);
+        assertNotNull(queue.poll());
+        assertNull(queue.poll());
+        assertEquals(2, queue.getPendingReads());
+
+        assertFalse(queue.complete(first, false));
+        assertNotNull(queue.poll());
+        assertEquals(1, queue.getCompletedReads());
+    }
+
+    @Test
+    public void testRetryIsQueuedAgain() {
+        ReadDatapointQueue queue = new ReadDatapointQueue(1);
+        queue.add(datapoint(1), false);
+        ReadDatapoint pending = queue.poll();
+        assertNotNull(pending);
+
+        assertFalse(queue.complete(pending, true));
+        assertEquals(1, queue.getQueuedReads());
+        assertEquals(0, queue.getCompletedReads());
+
+        ReadDatapoint retry = queue.poll();
+        assertNotNull(retry);
+        assertTrue(queue.complete(retry, false));
+        assertEquals(1, queue.getCompletedReads());
+        assertEquals(1, queue.getTotalReads());
+    }
+}
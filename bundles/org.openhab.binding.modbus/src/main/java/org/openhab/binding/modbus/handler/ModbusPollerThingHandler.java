@@ -15,6 +15,7 @@ package org.openhab.binding.modbus.handler;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -22,7 +23,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollMerger;
+import org.openhab.binding.modbus.internal.ModbusPollerMeters;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -85,7 +89,12 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 }
             }
             logger.debug("Thing {} received response {}", thing.getUID(), result);
+            ModbusPollerMeters localMeters = meters;
+            long startTime = System.nanoTime();
             notifyChildren(result);
+            if (localMeters != null) {
+                localMeters.pollProcessed(System.nanoTime() - startTime, result.failure == null);
+            }
             if (result.failure != null) {
                 Exception error = result.failure.getCause();
                 assert error != null;
@@ -189,6 +198,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollMerger pollMerger;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -199,6 +209,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private @Nullable ModbusReadFunctionCode functionCode;
 
+    private volatile @Nullable ModbusPollerMeters meters;
+
     public ModbusPollerThingHandler(Bridge bridge) {
         super(bridge);
     }
@@ -296,6 +308,11 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         this.callbackDelegator.resetCache();
         comms = null;
         lastPolledDataCache.set(null);
+        ModbusPollerMeters localMeters = meters;
+        if (localMeters != null) {
+            localMeters.remove();
+            meters = null;
+        }
     }
 
     /**
@@ -313,7 +330,13 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollMerger localPollMerger = this.pollMerger;
+        if (localPollMerger != null) {
+            logger.debug("Unregistering merged polling");
+            localPollMerger.unregisterRegularPoll(callbackDelegator);
+        }
         this.pollTask = null;
+        this.pollMerger = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -328,7 +351,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || pollMerger != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -358,9 +381,25 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
 
+        // polls are only merged and metered by the endpoints of this binding
+        ModbusPollMerger endpointPollMerger = null;
+        if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler) {
+            AbstractModbusEndpointThingHandler<?, ?> endpointHandler =
+                    (AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler;
+            endpointPollMerger = endpointHandler.getPollMerger();
+            if (meters == null) {
+                meters = endpointHandler.createPollerMeters(getThing().getUID());
+            }
+        }
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (endpointPollMerger != null) {
+            logger.debug("Registering polling to be merged with other pollers of the endpoint");
+            endpointPollMerger.registerRegularPoll(localRequest, config.getRefresh(), callbackDelegator,
+                    callbackDelegator);
+            this.pollMerger = endpointPollMerger;
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
@@ -446,6 +485,10 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         long oldDataThreshold = System.currentTimeMillis() - cacheMillis;
         boolean cacheWasRecentEnoughForUpdate = cacheMillis > 0
                 && this.callbackDelegator.updateChildrenWithOldData(oldDataThreshold);
+        ModbusPollerMeters localMeters = meters;
+        if (localMeters != null) {
+            localMeters.refreshed(cacheWasRecentEnoughForUpdate);
+        }
         if (cacheWasRecentEnoughForUpdate) {
             logger.debug(
                     "Poller {} received refresh() and cache was recent enough (age at most {} ms). Reusing old response",
@@ -30,8 +30,12 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.BindingMetrics;
+import org.openhab.io.metrics.BindingMetricsProvider;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +53,8 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
 
     private @NonNullByDefault({}) ModbusManager manager;
 
+    private volatile @Nullable BindingMetrics bindingMetrics;
+
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = new HashSet<>();
     static {
         SUPPORTED_THING_TYPES_UIDS.add(THING_TYPE_MODBUS_TCP);
@@ -67,10 +73,10 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
         if (thingTypeUID.equals(THING_TYPE_MODBUS_TCP)) {
             logger.debug("createHandler Modbus tcp");
-            return new ModbusTcpThingHandler((Bridge) thing, manager);
+            return new ModbusTcpThingHandler((Bridge) thing, manager, bindingMetrics);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_SERIAL)) {
             logger.debug("createHandler Modbus serial");
-            return new ModbusSerialThingHandler((Bridge) thing, manager);
+            return new ModbusSerialThingHandler((Bridge) thing, manager, bindingMetrics);
         } else if (thingTypeUID.equals(THING_TYPE_MODBUS_POLLER)) {
             logger.debug("createHandler Modbus poller");
             return new ModbusPollerThingHandler((Bridge) thing);
@@ -93,4 +99,16 @@ public class ModbusHandlerFactory extends BaseThingHandlerFactory {
     public void unsetModbusManager(ModbusManager manager) {
         this.manager = null;
     }
+
+    /**
+     * The metrics service is optional, pollers that are created before it is available do not publish metrics.
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = bindingMetricsProvider.getBindingMetrics(THING_TYPE_MODBUS_POLLER.getBindingId());
+    }
+
+    public void unsetBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = null;
+    }
 }
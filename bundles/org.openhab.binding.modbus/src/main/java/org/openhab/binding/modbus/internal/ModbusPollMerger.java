@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of several pollers of one endpoint into as few read requests as possible.
+ *
+ * Polls are merged if they read the same slave with the same function code and poll period, and their address ranges
+ * are adjacent or overlapping. The merged request is limited to the maximum number of registers or bits that can be
+ * read with one request. Each poll is assigned to exactly one merged request, the response of a merged request is
+ * split up again, and each poller receives a result (or failure) for its own request.
+ *
+ * Changes to the set of polls are applied with a short delay, so that pollers initialized at the same time do not
+ * each cause a re-registration of the merged polls.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollMerger {
+
+    private static final long REBUILD_DELAY_MILLIS = 100;
+
+    /**
+     * Polls that are candidates for merging
+     */
+    private static class PollGroup {
+        private final int slaveId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+
+        private PollGroup(ModbusReadRequestBlueprint request, long pollPeriodMillis) {
+            this.slaveId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            PollGroup other = (PollGroup) obj;
+            return slaveId == other.slaveId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(slaveId, functionCode, pollPeriodMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PollGroup(slaveId=%d, functionCode=%s, pollPeriodMillis=%d)", slaveId,
+                    functionCode, pollPeriodMillis);
+        }
+    }
+
+    private static class PollMember {
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private PollMember(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+    }
+
+    /**
+     * A registered merged poll, distributing the results to the members assigned to its request
+     */
+    private class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<PollMember> members;
+        private final List<PollMember> groupMembers;
+        private volatile @Nullable PollTask pollTask;
+
+        private MergedPoll(ModbusReadRequestBlueprint request, List<PollMember> members,
+                List<PollMember> groupMembers) {
+            this.request = request;
+            this.members = members;
+            this.groupMembers = groupMembers;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (PollMember member : members) {
+                if (!groupMembers.contains(member)) {
+                    // unregistered after the last rebuild
+                    continue;
+                }
+                int offset = member.request.getReference() - request.getReference();
+                result.getRegisters().ifPresent(registers -> member.resultCallback.handle(new AsyncModbusReadResult(
+                        member.request, sliceRegisters(registers, offset, member.request.getDataLength()))));
+                result.getBits().ifPresent(bits -> member.resultCallback.handle(new AsyncModbusReadResult(
+                        member.request, sliceBits(bits, offset, member.request.getDataLength()))));
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (PollMember member : members) {
+                if (!groupMembers.contains(member)) {
+                    continue;
+                }
+                member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollMerger.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final Map<PollGroup, List<PollMember>> members = new HashMap<>();
+    private final Map<PollGroup, List<MergedPoll>> mergedPolls = new HashMap<>();
+    private final Map<PollGroup, ScheduledFuture<?>> pendingRebuilds = new HashMap<>();
+    private boolean disposed;
+
+    public ModbusPollMerger(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Register a regular poll, to be merged with the polls of other pollers where possible
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback receiving the data of the request
+     * @param failureCallback callback receiving the failures of the (merged) request
+     */
+    public synchronized void registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        PollGroup group = new PollGroup(request, pollPeriodMillis);
+        members.computeIfAbsent(group, g -> new CopyOnWriteArrayList<>())
+                .add(new PollMember(request, resultCallback, failureCallback));
+        scheduleRebuild(group);
+    }
+
+    /**
+     * Unregister all regular polls of the given callback
+     *
+     * @param resultCallback callback that was used for registering the polls
+     */
+    public synchronized void unregisterRegularPoll(ModbusReadCallback resultCallback) {
+        members.forEach((group, groupMembers) -> {
+            if (groupMembers.removeIf(member -> member.resultCallback == resultCallback)) {
+                scheduleRebuild(group);
+            }
+        });
+    }
+
+    /**
+     * Unregister all merged polls from the communication interface
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        pendingRebuilds.values().forEach(future -> future.cancel(false));
+        pendingRebuilds.clear();
+        mergedPolls.values().forEach(this::unregisterMergedPolls);
+        mergedPolls.clear();
+        members.clear();
+    }
+
+    private void scheduleRebuild(PollGroup group) {
+        if (disposed) {
+            return;
+        }
+        ScheduledFuture<?> pending = pendingRebuilds.get(group);
+        if (pending == null || pending.isDone()) {
+            pendingRebuilds.put(group,
+                    scheduler.schedule(() -> rebuild(group), REBUILD_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private synchronized void rebuild(PollGroup group) {
+        pendingRebuilds.remove(group);
+        if (disposed) {
+            return;
+        }
+        List<MergedPoll> oldPolls = mergedPolls.remove(group);
+        if (oldPolls != null) {
+            unregisterMergedPolls(oldPolls);
+        }
+        List<PollMember> groupMembers = members.get(group);
+        if (groupMembers == null || groupMembers.isEmpty()) {
+            members.remove(group);
+            return;
+        }
+
+        Map<ModbusReadRequestBlueprint, List<PollMember>> mergedRequests = mergeRequests(groupMembers,
+                member -> member.request);
+        logger.debug("Polling {} requests of {} with {} merged requests", groupMembers.size(), group,
+                mergedRequests.size());
+
+        List<MergedPoll> newPolls = new ArrayList<>();
+        for (Map.Entry<ModbusReadRequestBlueprint, List<PollMember>> entry : mergedRequests.entrySet()) {
+            ModbusReadRequestBlueprint mergedRequest = entry.getKey();
+            MergedPoll mergedPoll = new MergedPoll(mergedRequest, entry.getValue(), groupMembers);
+            mergedPoll.pollTask = comms.registerRegularPoll(mergedRequest, group.pollPeriodMillis, 0, mergedPoll,
+                    mergedPoll);
+            newPolls.add(mergedPoll);
+        }
+        mergedPolls.put(group, newPolls);
+    }
+
+    private void unregisterMergedPolls(List<MergedPoll> polls) {
+        for (MergedPoll poll : polls) {
+            PollTask pollTask = poll.pollTask;
+            if (pollTask != null) {
+                comms.unregisterRegularPoll(pollTask);
+            }
+        }
+    }
+
+    /**
+     * Merge read requests of the same slave and function code into the smallest number of requests covering all of
+     * them. Requests are merged only if they are adjacent or overlapping, and only up to the maximum number of
+     * registers or bits of a single read request.
+     *
+     * @param requests requests to merge, all having the same slave id and function code
+     * @return merged requests, ordered by their start address
+     */
+    public static List<ModbusReadRequestBlueprint> mergeRequests(List<ModbusReadRequestBlueprint> requests) {
+        return new ArrayList<>(mergeRequests(requests, Function.identity()).keySet());
+    }
+
+    /**
+     * Merge the read requests of the given items like {@link #mergeRequests(List)}, and assign each item to the one
+     * merged request that covers its request. Merged requests may overlap, an item is never assigned to more than one
+     * of them.
+     *
+     * @param items items to merge, all having requests with the same slave id and function code
+     * @param requestOf function returning the request of an item
+     * @return merged requests, ordered by their start address, with the items assigned to them
+     */
+    static <T> Map<ModbusReadRequestBlueprint, List<T>> mergeRequests(List<T> items,
+            Function<T, ModbusReadRequestBlueprint> requestOf) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(requestOf, Comparator.comparingInt(ModbusReadRequestBlueprint::getReference)
+                .thenComparingInt(ModbusReadRequestBlueprint::getDataLength)));
+
+        Map<ModbusReadRequestBlueprint, List<T>> merged = new LinkedHashMap<>();
+        List<T> assigned = new ArrayList<>();
+        @Nullable
+        ModbusReadRequestBlueprint first = null;
+        int end = 0;
+        int maxTries = 0;
+        for (T item : sorted) {
+            ModbusReadRequestBlueprint request = requestOf.apply(item);
+            int requestEnd = request.getReference() + request.getDataLength();
+            if (first != null && request.getReference() <= end
+                    && Math.max(end, requestEnd) - first.getReference() <= getMaxReadCount(first)) {
+                end = Math.max(end, requestEnd);
+                maxTries = Math.max(maxTries, request.getMaxTries());
+                assigned.add(item);
+                continue;
+            }
+            if (first != null) {
+                merged.put(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(),
+                        first.getReference(), end - first.getReference(), maxTries), assigned);
+                assigned = new ArrayList<>();
+            }
+            first = request;
+            end = requestEnd;
+            maxTries = request.getMaxTries();
+            assigned.add(item);
+        }
+        if (first != null) {
+            merged.put(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), first.getReference(),
+                    end - first.getReference(), maxTries), assigned);
+        }
+        return merged;
+    }
+
+    private static int getMaxReadCount(ModbusReadRequestBlueprint request) {
+        switch (request.getFunctionCode()) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    private static ModbusRegisterArray sliceRegisters(ModbusRegisterArray registers, int offset, int length) {
+        int[] values = new int[Math.max(0, Math.min(length, registers.size() - offset))];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = registers.getRegister(offset + i);
+        }
+        return new ModbusRegisterArray(values);
+    }
+
+    private static BitArray sliceBits(BitArray bits, int offset, int length) {
+        boolean[] values = new boolean[Math.max(0, Math.min(length, bits.size() - offset))];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = bits.getBit(offset + i);
+        }
+        return new BitArray(values);
+    }
+}
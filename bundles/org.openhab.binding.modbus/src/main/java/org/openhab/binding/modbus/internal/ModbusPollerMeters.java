@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.io.metrics.BindingMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The meters of a poller, the time spent in the binding to process the poll results and the number of results
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollerMeters {
+    private static final String TAG_RESULT = "result";
+    private static final String TAG_CACHE = "cache";
+
+    private final BindingMetrics bindingMetrics;
+    private final ThingUID thingUID;
+    private final Timer processingTime;
+    private final Counter successfulPolls;
+    private final Counter failedPolls;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public ModbusPollerMeters(BindingMetrics bindingMetrics, ThingUID thingUID) {
+        this.bindingMetrics = bindingMetrics;
+        this.thingUID = thingUID;
+        processingTime = bindingMetrics.timer(thingUID, "poll.processing.time");
+        successfulPolls = bindingMetrics.counter(thingUID, "polls", TAG_RESULT, "success");
+        failedPolls = bindingMetrics.counter(thingUID, "polls", TAG_RESULT, "failure");
+        cacheHits = bindingMetrics.counter(thingUID, "refreshes", TAG_CACHE, "hit");
+        cacheMisses = bindingMetrics.counter(thingUID, "refreshes", TAG_CACHE, "miss");
+    }
+
+    /**
+     * Records a poll result that was passed to the data things
+     *
+     * @param processingNanos time it took to process the result
+     * @param success true if the poll succeeded
+     */
+    public void pollProcessed(long processingNanos, boolean success) {
+        processingTime.record(processingNanos, TimeUnit.NANOSECONDS);
+        (success ? successfulPolls : failedPolls).increment();
+    }
+
+    /**
+     * Records a refresh of the data things
+     *
+     * @param cacheHit true if the data things were updated with the cached poll result
+     */
+    public void refreshed(boolean cacheHit) {
+        (cacheHit ? cacheHits : cacheMisses).increment();
+    }
+
+    /**
+     * Removes the meters from the registry
+     */
+    public void remove() {
+        bindingMetrics.removeMeters(thingUID);
+    }
+}
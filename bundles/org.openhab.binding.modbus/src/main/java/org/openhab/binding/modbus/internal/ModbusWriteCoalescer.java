@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces holding register writes of one endpoint.
+ *
+ * Writes are collected for a configurable window. Only the latest value of each register is kept, and contiguous
+ * registers of the same slave are written with a single write multiple registers (FC16) request. A submitted request
+ * may be split up into several write requests, it is notified about the result once all of them succeeded, or about
+ * the first failure.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescer {
+
+    /**
+     * Maximum number of registers written with one request, due to protocol limitations
+     */
+    static final int MAX_REGISTERS_WRITE_COUNT = 123;
+
+    private static class PendingWrite {
+        private final ModbusWriteRegisterRequestBlueprint request;
+        private final ModbusWriteCallback resultCallback;
+        private final ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback;
+        /** number of flushed write requests that did not complete yet */
+        private final AtomicInteger pendingRequests = new AtomicInteger();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private PendingWrite(ModbusWriteRegisterRequestBlueprint request, ModbusWriteCallback resultCallback,
+                ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+    }
+
+    private static class PendingRegister {
+        private int value;
+        private final List<PendingWrite> writes = new ArrayList<>();
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusWriteCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+
+    /** pending register values per slave id, ordered by register address */
+    private final Map<Integer, TreeMap<Integer, PendingRegister>> pending = new TreeMap<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private final AtomicLong submittedWrites = new AtomicLong();
+    private final AtomicLong executedWrites = new AtomicLong();
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler used for flushing the pending writes
+     * @param windowMillis time writes are collected before they are sent, in milliseconds
+     */
+    public ModbusWriteCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler,
+            long windowMillis) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Queue a holding register write
+     *
+     * @param request write request
+     * @param resultCallback callback receiving the result of the (coalesced) write
+     * @param failureCallback callback receiving the failure of the (coalesced) write
+     */
+    public synchronized void submitWrite(ModbusWriteRegisterRequestBlueprint request,
+            ModbusWriteCallback resultCallback, ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        submittedWrites.incrementAndGet();
+        TreeMap<Integer, PendingRegister> registers = pending.computeIfAbsent(request.getUnitID(),
+                slaveId -> new TreeMap<>());
+        ModbusRegisterArray data = request.getRegisters();
+        PendingWrite write = new PendingWrite(request, resultCallback, failureCallback);
+        for (int i = 0; i < data.size(); i++) {
+            PendingRegister register = registers.computeIfAbsent(request.getReference() + i,
+                    address -> new PendingRegister());
+            register.value = data.getRegister(i);
+            register.writes.add(write);
+        }
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send all pending writes
+     */
+    public void flush() {
+        List<ModbusWriteRegisterRequestBlueprint> requests = new ArrayList<>();
+        List<List<PendingWrite>> requestWrites = new ArrayList<>();
+        synchronized (this) {
+            flushJob = null;
+            pending.forEach((slaveId, registers) -> {
+                List<Map.Entry<Integer, PendingRegister>> run = new ArrayList<>();
+                for (Map.Entry<Integer, PendingRegister> entry : registers.entrySet()) {
+                    if (!run.isEmpty() && (entry.getKey() != run.get(run.size() - 1).getKey() + 1
+                            || run.size() >= MAX_REGISTERS_WRITE_COUNT)) {
+                        addRequest(slaveId, run, requests, requestWrites);
+                        run = new ArrayList<>();
+                    }
+                    run.add(entry);
+                }
+                if (!run.isEmpty()) {
+                    addRequest(slaveId, run, requests, requestWrites);
+                }
+            });
+            pending.clear();
+        }
+
+        if (requests.isEmpty()) {
+            return;
+        }
+        executedWrites.addAndGet(requests.size());
+        logger.debug("Flushing {} coalesced write requests, {} writes coalesced in total", requests.size(),
+                getCoalescedWrites());
+        for (int i = 0; i < requests.size(); i++) {
+            List<PendingWrite> writes = requestWrites.get(i);
+            comms.submitOneTimeWrite(requests.get(i), result -> handleResult(writes, result),
+                    failure -> handleFailure(writes, failure));
+        }
+    }
+
+    /**
+     * Cancel the scheduled flush and send the pending writes
+     */
+    public void dispose() {
+        synchronized (this) {
+            ScheduledFuture<?> localFlushJob = flushJob;
+            if (localFlushJob != null) {
+                localFlushJob.cancel(false);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Number of submitted writes that did not need a request of their own
+     */
+    public long getCoalescedWrites() {
+        return submittedWrites.get() - executedWrites.get();
+    }
+
+    /**
+     * Notify the writes that are completed by the result of a flushed write request
+     */
+    private static void handleResult(List<PendingWrite> writes, AsyncModbusWriteResult result) {
+        for (PendingWrite write : writes) {
+            if (write.pendingRequests.decrementAndGet() == 0) {
+                write.resultCallback.handle(new AsyncModbusWriteResult(write.request, result.getResponse()));
+            }
+        }
+    }
+
+    /**
+     * Notify the writes that did not fail yet about the failure of a flushed write request
+     */
+    private static void handleFailure(List<PendingWrite> writes,
+            AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+        for (PendingWrite write : writes) {
+            if (write.failed.compareAndSet(false, true)) {
+                write.failureCallback.handle(new AsyncModbusFailure<>(write.request, failure.getCause()));
+            }
+        }
+    }
+
+    private void addRequest(int slaveId, List<Map.Entry<Integer, PendingRegister>> run,
+            List<ModbusWriteRegisterRequestBlueprint> requests, List<List<PendingWrite>> requestWrites) {
+        int[] values = new int[run.size()];
+        List<PendingWrite> writes = new ArrayList<>();
+        boolean writeMultiple = run.size() > 1;
+        int maxTries = 1;
+        for (int i = 0; i < values.length; i++) {
+            PendingRegister register = run.get(i).getValue();
+            values[i] = register.value;
+            for (PendingWrite write : register.writes) {
+                if (writes.contains(write)) {
+                    continue;
+                }
+                writes.add(write);
+                write.pendingRequests.incrementAndGet();
+                writeMultiple |= write.request.getFunctionCode() == ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS;
+                maxTries = Math.max(maxTries, write.request.getMaxTries());
+            }
+        }
+        requests.add(new ModbusWriteRegisterRequestBlueprint(slaveId, run.get(0).getKey(),
+                new ModbusRegisterArray(values), writeMultiple, maxTries));
+        requestWrites.add(writes);
+    }
+}
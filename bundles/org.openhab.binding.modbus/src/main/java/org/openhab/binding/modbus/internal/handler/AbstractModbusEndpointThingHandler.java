@@ -17,6 +17,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollMerger;
+import org.openhab.binding.modbus.internal.ModbusPollerMeters;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -25,8 +28,10 @@ import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
+import org.openhab.io.metrics.BindingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,10 +53,22 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollMerger pollMerger;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
 
-    public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
+    private final @Nullable BindingMetrics bindingMetrics;
+
+    /**
+     * @param bridge the endpoint thing
+     * @param modbusManager manager providing the communication interface
+     * @param bindingMetrics metrics to publish the poll results of the pollers to, or <code>null</code> if metrics are
+     *            not published
+     */
+    public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager,
+            @Nullable BindingMetrics bindingMetrics) {
         super(bridge);
         this.modbusManager = modbusManager;
+        this.bindingMetrics = bindingMetrics;
     }
 
     @Override
@@ -76,6 +93,13 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    if (isPollMergingEnabled()) {
+                        pollMerger = new ModbusPollMerger(comms, scheduler);
+                    }
+                    int writeCoalescingMillis = getWriteCoalescingMillis();
+                    if (writeCoalescingMillis > 0) {
+                        writeCoalescer = new ModbusWriteCoalescer(comms, scheduler, writeCoalescingMillis);
+                    }
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +117,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusPollMerger localPollMerger = pollMerger;
+        if (localPollMerger != null) {
+            localPollMerger.dispose();
+            pollMerger = null;
+        }
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.dispose();
+            writeCoalescer = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +144,35 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Gets the {@link ModbusPollMerger} merging the regular polls of the pollers of this endpoint
+     *
+     * @return poll merger, or <code>null</code> if polls are not merged or the initialization is incomplete
+     */
+    public @Nullable ModbusPollMerger getPollMerger() {
+        return pollMerger;
+    }
+
+    /**
+     * Gets the {@link ModbusWriteCoalescer} coalescing the register writes to this endpoint
+     *
+     * @return write coalescer, or <code>null</code> if writes are not coalesced or the initialization is incomplete
+     */
+    public @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
+    /**
+     * Creates the meters of a poller of this endpoint
+     *
+     * @param pollerUID UID of the poller
+     * @return meters of the poller, or <code>null</code> if metrics are not published
+     */
+    public @Nullable ModbusPollerMeters createPollerMeters(ThingUID pollerUID) {
+        BindingMetrics localBindingMetrics = bindingMetrics;
+        return localBindingMetrics == null ? null : new ModbusPollerMeters(localBindingMetrics, pollerUID);
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -123,6 +186,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
+    /**
+     * Whether the regular polls of the pollers of this endpoint should be merged
+     */
+    protected abstract boolean isPollMergingEnabled();
+
+    /**
+     * Time in milliseconds register writes to this endpoint are collected for coalescing, zero to disable coalescing
+     */
+    protected abstract int getWriteCoalescingMillis();
+
     /**
      * Format error message in case some other endpoint has been configured with different
      * {@link EndpointPoolConfiguration}
@@ -35,6 +35,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -72,8 +73,10 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingStatusInfo;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseThingHandler;
 import org.openhab.core.thing.binding.BridgeHandler;
+import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
@@ -148,6 +151,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile boolean writeParametersHavingTransformationOnly;
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
@@ -225,7 +229,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
 
         logger.trace("Submitting write task {} to endpoint {}", request, comms.getEndpoint());
-        comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        submitWrite(comms, request);
+    }
+
+    private void submitWrite(ModbusCommunicationInterface comms, ModbusWriteRequestBlueprint request) {
+        ModbusWriteCoalescer writeCoalescer = this.writeCoalescer;
+        if (writeCoalescer != null && request instanceof ModbusWriteRegisterRequestBlueprint) {
+            writeCoalescer.submitWrite((ModbusWriteRegisterRequestBlueprint) request, this::onWriteResponse,
+                    this::handleWriteError);
+        } else {
+            comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        }
     }
 
     /**
@@ -391,7 +405,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         requests.stream().forEach(request -> {
             logger.trace("Submitting write request: {} to endpoint {} (based from transformation {})", request,
                     localComms.getEndpoint(), transformOutput);
-            localComms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+            submitWrite(localComms, request);
         });
     }
 
@@ -422,6 +436,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 ModbusEndpointThingHandler endpointHandler = (ModbusEndpointThingHandler) bridgeHandler;
                 slaveId = endpointHandler.getSlaveId();
                 comms = endpointHandler.getCommunicationInterface();
+                writeCoalescer = getWriteCoalescer(endpointHandler);
                 childOfEndpoint = true;
                 functionCode = null;
                 readRequest = null;
@@ -441,6 +456,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 slaveId = localReadRequest.getUnitID();
                 functionCode = localReadRequest.getFunctionCode();
                 comms = localPollerHandler.getCommunicationInterface();
+                writeCoalescer = getWriteCoalescer(getEndpointHandler(bridge));
                 pollStart = localReadRequest.getReference();
                 childOfEndpoint = false;
             }
@@ -458,6 +474,28 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Gets the handler of the endpoint of a poller
+     */
+    private @Nullable ThingHandler getEndpointHandler(Bridge poller) {
+        ThingUID endpointUID = poller.getBridgeUID();
+        ThingHandlerCallback callback = getCallback();
+        if (endpointUID == null || callback == null) {
+            return null;
+        }
+        Bridge endpoint = callback.getBridge(endpointUID);
+        return endpoint == null ? null : endpoint.getHandler();
+    }
+
+    /**
+     * Gets the write coalescer of an endpoint, only the endpoints of this binding coalesce writes
+     */
+    private static @Nullable ModbusWriteCoalescer getWriteCoalescer(@Nullable ThingHandler endpointHandler) {
+        return endpointHandler instanceof AbstractModbusEndpointThingHandler
+                ? ((AbstractModbusEndpointThingHandler<?, ?>) endpointHandler).getWriteCoalescer()
+                : null;
+    }
+
     @Override
     public synchronized void dispose() {
         config = null;
@@ -479,6 +517,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         writeParametersHavingTransformationOnly = false;
         childOfEndpoint = false;
         pollerHandler = null;
+        writeCoalescer = null;
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.discovery.internal.ModbusEndpointDiscoveryService;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
@@ -27,6 +28,7 @@ import org.openhab.core.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.ThingHandlerService;
+import org.openhab.io.metrics.BindingMetrics;
 
 /**
  * Endpoint thing handler for serial slaves
@@ -37,8 +39,8 @@ import org.openhab.core.thing.binding.ThingHandlerService;
 public class ModbusSerialThingHandler
         extends AbstractModbusEndpointThingHandler<ModbusSerialSlaveEndpoint, ModbusSerialConfiguration> {
 
-    public ModbusSerialThingHandler(Bridge bridge, ModbusManager manager) {
-        super(bridge, manager);
+    public ModbusSerialThingHandler(Bridge bridge, ModbusManager manager, @Nullable BindingMetrics bindingMetrics) {
+        super(bridge, manager, bindingMetrics);
     }
 
     @Override
@@ -86,6 +88,18 @@ public class ModbusSerialThingHandler
         }
     }
 
+    @Override
+    protected boolean isPollMergingEnabled() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null && localConfig.isMergePolls();
+    }
+
+    @Override
+    protected int getWriteCoalescingMillis() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null ? localConfig.getWriteCoalescingMillis() : 0;
+    }
+
     @SuppressWarnings("null") // Since endpoint in Optional.map cannot be null
     @Override
     protected String formatConflictingParameterError() {
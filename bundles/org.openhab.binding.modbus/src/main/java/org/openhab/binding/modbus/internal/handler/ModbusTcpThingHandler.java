@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.discovery.internal.ModbusEndpointDiscoveryService;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
@@ -27,6 +28,7 @@ import org.openhab.core.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.ThingHandlerService;
+import org.openhab.io.metrics.BindingMetrics;
 
 /**
  * Endpoint thing handler for TCP slaves
@@ -37,8 +39,8 @@ import org.openhab.core.thing.binding.ThingHandlerService;
 public class ModbusTcpThingHandler
         extends AbstractModbusEndpointThingHandler<ModbusTCPSlaveEndpoint, ModbusTcpConfiguration> {
 
-    public ModbusTcpThingHandler(Bridge bridge, ModbusManager manager) {
-        super(bridge, manager);
+    public ModbusTcpThingHandler(Bridge bridge, ModbusManager manager, @Nullable BindingMetrics bindingMetrics) {
+        super(bridge, manager, bindingMetrics);
     }
 
     @Override
@@ -99,6 +101,18 @@ public class ModbusTcpThingHandler
         }
     }
 
+    @Override
+    protected boolean isPollMergingEnabled() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null && localConfig.isMergePolls();
+    }
+
+    @Override
+    protected int getWriteCoalescingMillis() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null ? localConfig.getWriteCoalescingMillis() : 0;
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Collections.singleton(ModbusEndpointDiscoveryService.class);
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollMergerTest {
+
+    private static final long POLL_PERIOD_MILLIS = 1000;
+
+    /**
+     * Records the results and failures received for the request of a poller
+     */
+    private static class RecordingPoller
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<List<Integer>> results = new ArrayList<>();
+        private final List<Exception> failures = new ArrayList<>();
+
+        private RecordingPoller(ModbusReadRequestBlueprint request) {
+            this.request = request;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            assertThat(result.getRequest(), is(request));
+            List<Integer> values = new ArrayList<>();
+            result.getRegisters().ifPresent(registers -> {
+                for (int i = 0; i < registers.size(); i++) {
+                    values.add(registers.getRegister(i));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                for (int i = 0; i < bits.size(); i++) {
+                    values.add(bits.getBit(i) ? 1 : 0);
+                }
+            });
+            results.add(values);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            assertThat(failure.getRequest(), is(request));
+            failures.add(failure.getCause());
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ModbusPollMerger merger;
+    private final List<Runnable> scheduledRebuilds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            scheduledRebuilds.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        merger = new ModbusPollMerger(comms, scheduler);
+    }
+
+    private RecordingPoller register(ModbusReadRequestBlueprint request) {
+        RecordingPoller poller = new RecordingPoller(request);
+        merger.registerRegularPoll(request, POLL_PERIOD_MILLIS, poller, poller);
+        return poller;
+    }
+
+    /**
+     * Runs the pending rebuilds and returns the callbacks of the registered merged polls, by merged request
+     */
+    private List<ModbusReadCallback> rebuild(List<ModbusReadRequestBlueprint> expectedRequests) {
+        scheduledRebuilds.forEach(Runnable::run);
+        scheduledRebuilds.clear();
+        ArgumentCaptor<ModbusReadRequestBlueprint> requests = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callbacks = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(expectedRequests.size())).registerRegularPoll(requests.capture(),
+                eq(POLL_PERIOD_MILLIS), eq(0L), callbacks.capture(), any());
+        assertThat(requests.getAllValues(), is(expectedRequests));
+        return callbacks.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback(ModbusReadCallback callback) {
+        // the merged polls receive the results and the failures of their request
+        return (ModbusFailureCallback<ModbusReadRequestBlueprint>) callback;
+    }
+
+    private static ModbusRegisterArray registerValues(ModbusReadRequestBlueprint request) {
+        int[] values = new int[request.getDataLength()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = request.getReference() + i;
+        }
+        return new ModbusRegisterArray(values);
+    }
+
+    private static List<Integer> range(int start, int length) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = start; i < start + length; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static ModbusReadRequestBlueprint registers(int start, int length, int maxTries) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length,
+                maxTries);
+    }
+
+    private static ModbusReadRequestBlueprint coils(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, start, length, 3);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRequestsAreMerged() {
+        List<ModbusReadRequestBlueprint> merged = ModbusPollMerger
+                .mergeRequests(List.of(registers(10, 5, 3), registers(0, 10, 1), registers(12, 6, 5)));
+        assertThat(merged, is(List.of(registers(0, 18, 5))));
+    }
+
+    @Test
+    public void testRequestsWithGapAreNotMerged() {
+        List<ModbusReadRequestBlueprint> merged = ModbusPollMerger
+                .mergeRequests(List.of(registers(0, 10, 3), registers(11, 5, 3)));
+        assertThat(merged, is(List.of(registers(0, 10, 3), registers(11, 5, 3))));
+    }
+
+    @Test
+    public void testMergedRequestIsLimitedToMaximumReadCount() {
+        List<ModbusReadRequestBlueprint> merged = ModbusPollMerger
+                .mergeRequests(List.of(registers(0, 100, 3), registers(100, 25, 3), registers(125, 10, 3)));
+        assertThat(merged, is(List.of(registers(0, 125, 3), registers(125, 10, 3))));
+    }
+
+    @Test
+    public void testBitRequestsUseBitLimit() {
+        List<ModbusReadRequestBlueprint> merged = ModbusPollMerger
+                .mergeRequests(List.of(coils(0, 1000), coils(1000, 500), coils(1500, 600)));
+        assertThat(merged, is(List.of(coils(0, 1500), coils(1500, 600))));
+    }
+
+    @Test
+    public void testRegistersAreDistributedOnceToEachPoller() {
+        RecordingPoller first = register(registers(0, 125, 3));
+        RecordingPoller second = register(registers(100, 50, 3));
+        RecordingPoller third = register(registers(110, 10, 3));
+
+        // the second merged request overlaps the first one, the third poller is assigned to the second one only
+        List<ModbusReadRequestBlueprint> mergedRequests = List.of(registers(0, 125, 3), registers(100, 50, 3));
+        List<ModbusReadCallback> callbacks = rebuild(mergedRequests);
+        for (int i = 0; i < callbacks.size(); i++) {
+            ModbusReadRequestBlueprint request = mergedRequests.get(i);
+            callbacks.get(i).handle(new AsyncModbusReadResult(request, registerValues(request)));
+        }
+
+        assertThat(first.results, is(List.of(range(0, 125))));
+        assertThat(second.results, is(List.of(range(100, 50))));
+        assertThat(third.results, is(List.of(range(110, 10))));
+    }
+
+    @Test
+    public void testBitsAreDistributedToEachPoller() {
+        RecordingPoller first = register(coils(0, 3));
+        RecordingPoller second = register(coils(2, 4));
+
+        List<ModbusReadCallback> callbacks = rebuild(List.of(coils(0, 6)));
+        callbacks.get(0).handle(new AsyncModbusReadResult(coils(0, 6),
+                new BitArray(new boolean[] { true, false, true, true, false, true })));
+
+        assertThat(first.results, is(List.of(List.of(1, 0, 1))));
+        assertThat(second.results, is(List.of(List.of(1, 1, 0, 1))));
+    }
+
+    @Test
+    public void testFailureIsDistributedOnceToEachPoller() {
+        RecordingPoller first = register(registers(0, 125, 3));
+        RecordingPoller second = register(registers(100, 50, 3));
+        RecordingPoller third = register(registers(110, 10, 3));
+
+        List<ModbusReadCallback> callbacks = rebuild(List.of(registers(0, 125, 3), registers(100, 50, 3)));
+        IOException cause = new IOException("timeout");
+        failureCallback(callbacks.get(1)).handle(new AsyncModbusFailure<>(registers(100, 50, 3), cause));
+
+        assertThat(first.failures, is(List.of()));
+        assertThat(second.failures, is(List.of(cause)));
+        assertThat(third.failures, is(List.of(cause)));
+    }
+
+    @Test
+    public void testUnregisteredPollerReceivesNoResults() {
+        RecordingPoller first = register(registers(0, 10, 3));
+        RecordingPoller second = register(registers(10, 10, 3));
+
+        List<ModbusReadCallback> callbacks = rebuild(List.of(registers(0, 20, 3)));
+        merger.unregisterRegularPoll(second);
+        callbacks.get(0).handle(new AsyncModbusReadResult(registers(0, 20, 3), registerValues(registers(0, 20, 3))));
+
+        assertThat(first.results, is(List.of(range(0, 10))));
+        assertThat(second.results, is(List.of()));
+    }
+}
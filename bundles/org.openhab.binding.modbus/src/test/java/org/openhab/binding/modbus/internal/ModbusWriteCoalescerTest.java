@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusResponse;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescerTest {
+
+    /**
+     * Records the results and failures received for a submitted write
+     */
+    private static class RecordingWrite
+            implements ModbusWriteCallback, ModbusFailureCallback<ModbusWriteRequestBlueprint> {
+        private final List<AsyncModbusWriteResult> results = new ArrayList<>();
+        private final List<Exception> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusWriteResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+            failures.add(failure.getCause());
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ModbusWriteCoalescer coalescer;
+    private final List<ModbusWriteCallback> flushedResultCallbacks = new ArrayList<>();
+    private final List<ModbusFailureCallback<ModbusWriteRequestBlueprint>> flushedFailureCallbacks = new ArrayList<>();
+
+    private final ModbusWriteCallback resultCallback = result -> {
+    };
+    private final ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback = failure -> {
+    };
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        coalescer = new ModbusWriteCoalescer(comms, scheduler, 50);
+    }
+
+    private void write(int slaveId, int reference, int... values) {
+        coalescer.submitWrite(new ModbusWriteRegisterRequestBlueprint(slaveId, reference,
+                new ModbusRegisterArray(values), false, 3), resultCallback, failureCallback);
+    }
+
+    private List<ModbusWriteRequestBlueprint> flushedRequests(int expectedRequests) {
+        coalescer.flush();
+        ArgumentCaptor<ModbusWriteRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusWriteRequestBlueprint.class);
+        verify(comms, times(expectedRequests)).submitOneTimeWrite(captor.capture(), any(), any());
+        return captor.getAllValues();
+    }
+
+    @Test
+    public void testLatestValuePerRegisterIsWritten() {
+        write(1, 10, 1);
+        write(1, 10, 2);
+        write(1, 10, 3);
+
+        List<ModbusWriteRequestBlueprint> requests = flushedRequests(1);
+        ModbusWriteRegisterRequestBlueprint request = (ModbusWriteRegisterRequestBlueprint) requests.get(0);
+        assertThat(request.getReference(), is(10));
+        assertThat(request.getRegisters().getRegister(0), is(3));
+        assertThat(request.getFunctionCode(), is(ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER));
+        assertThat(coalescer.getCoalescedWrites(), is(2L));
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testContiguousRegistersAreMerged() {
+        write(1, 10, 1);
+        write(1, 12, 3, 4);
+        write(1, 11, 2);
+        write(1, 20, 5);
+        write(2, 13, 6);
+
+        List<ModbusWriteRequestBlueprint> requests = flushedRequests(3);
+        ModbusWriteRegisterRequestBlueprint merged = (ModbusWriteRegisterRequestBlueprint) requests.get(0);
+        assertThat(merged.getUnitID(), is(1));
+        assertThat(merged.getReference(), is(10));
+        assertThat(merged.getRegisters().size(), is(4));
+        assertThat(merged.getRegisters().getRegister(3), is(4));
+        assertThat(merged.getFunctionCode(), is(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS));
+        assertThat(requests.get(1).getReference(), is(20));
+        assertThat(requests.get(2).getUnitID(), is(2));
+        assertThat(coalescer.getCoalescedWrites(), is(2L));
+    }
+
+    @Test
+    public void testMergedWriteIsLimitedToMaximumRegisterCount() {
+        for (int i = 0; i < ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT + 1; i++) {
+            write(1, i, i);
+        }
+
+        List<ModbusWriteRequestBlueprint> requests = flushedRequests(2);
+        assertThat(((ModbusWriteRegisterRequestBlueprint) requests.get(0)).getRegisters().size(),
+                is(ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT));
+        assertThat(requests.get(1).getReference(), is(ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT));
+    }
+
+    private RecordingWrite recordingWrite(int reference, int registers) {
+        RecordingWrite write = new RecordingWrite();
+        coalescer.submitWrite(new ModbusWriteRegisterRequestBlueprint(1, reference,
+                new ModbusRegisterArray(new int[registers]), registers > 1, 3), write, write);
+        return write;
+    }
+
+    /**
+     * Flush and keep the result callbacks and the failure callbacks of the flushed write requests
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void flushWithCallbacks(int expectedRequests) {
+        coalescer.flush();
+        ArgumentCaptor<ModbusWriteCallback> resultCallbacks = ArgumentCaptor.forClass(ModbusWriteCallback.class);
+        ArgumentCaptor<ModbusFailureCallback> failureCallbacks = ArgumentCaptor.forClass(ModbusFailureCallback.class);
+        verify(comms, times(expectedRequests)).submitOneTimeWrite(any(), resultCallbacks.capture(),
+                failureCallbacks.capture());
+        flushedResultCallbacks.addAll(resultCallbacks.getAllValues());
+        failureCallbacks.getAllValues().forEach(flushedFailureCallbacks::add);
+    }
+
+    private static ModbusWriteRegisterRequestBlueprint anyWrite() {
+        return new ModbusWriteRegisterRequestBlueprint(1, 0, new ModbusRegisterArray(0), false, 1);
+    }
+
+    private void succeed(int request) {
+        flushedResultCallbacks.get(request).handle(new AsyncModbusWriteResult(anyWrite(), mock(ModbusResponse.class)));
+    }
+
+    private void fail(int request, Exception cause) {
+        flushedFailureCallbacks.get(request).handle(new AsyncModbusFailure<>(anyWrite(), cause));
+    }
+
+    @Test
+    public void testWriteSpanningTwoRequestsIsCompletedByBoth() {
+        RecordingWrite first = recordingWrite(0, ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT - 1);
+        RecordingWrite spanning = recordingWrite(ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT - 1, 2);
+
+        flushWithCallbacks(2);
+        succeed(0);
+        assertThat(first.results.size(), is(1));
+        assertThat(spanning.results.size(), is(0));
+
+        succeed(1);
+        assertThat(spanning.results.size(), is(1));
+        assertThat(spanning.failures.size(), is(0));
+    }
+
+    @Test
+    public void testWriteSpanningTwoRequestsFailsIfOneFails() {
+        RecordingWrite first = recordingWrite(0, ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT - 1);
+        RecordingWrite spanning = recordingWrite(ModbusWriteCoalescer.MAX_REGISTERS_WRITE_COUNT - 1, 2);
+
+        flushWithCallbacks(2);
+        IOException cause = new IOException("timeout");
+        fail(1, cause);
+        succeed(0);
+
+        assertThat(first.results.size(), is(1));
+        assertThat(first.failures.size(), is(0));
+        assertThat(spanning.results.size(), is(0));
+        assertThat(spanning.failures, is(List.of(cause)));
+    }
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -62,6 +63,7 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    private @Nullable LongConsumer processingTimeListener;
 
     /**
      * Creates a new channel state.
@@ -141,6 +143,15 @@ public class ChannelState implements MqttMessageSubscriber {
         return cachedValue;
     }
 
+    /**
+     * Set a listener that is notified of the time needed to process each incoming message of this channel.
+     *
+     * @param processingTimeListener Listener accepting the processing time in nanoseconds, or null to remove it
+     */
+    public void setProcessingTimeListener(@Nullable LongConsumer processingTimeListener) {
+        this.processingTimeListener = processingTimeListener;
+    }
+
     /**
      * Return the channelUID
      */
@@ -162,6 +173,17 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        final LongConsumer processingTimeListener = this.processingTimeListener;
+        if (processingTimeListener == null) {
+            processPayload(channelStateUpdateListener, payload);
+        } else {
+            long startTime = System.nanoTime();
+            processPayload(channelStateUpdateListener, payload);
+            processingTimeListener.accept(System.nanoTime() - startTime);
+        }
+    }
+
+    private void processPayload(ChannelStateUpdateListener channelStateUpdateListener, byte[] payload) {
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
@@ -169,6 +191,15 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Untransformed value: try to parse the payload without decoding it first
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            Command command = cachedValue.parseCommand(payload);
+            if (command != null) {
+                processCommand(channelStateUpdateListener, command);
+                return;
+            }
+        }
+
         // String value: Apply transformations
         String strValue = new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
@@ -197,6 +228,10 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        processCommand(channelStateUpdateListener, command);
+    }
+
+    private void processCommand(ChannelStateUpdateListener channelStateUpdateListener, Command command) {
         Command postOnlyCommand = cachedValue.isPostOnly(command);
         if (postOnlyCommand != null) {
             channelStateUpdateListener.postChannelCommand(channelUID, postOnlyCommand);
@@ -208,7 +243,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", strValue, channelUID,
+            logger.warn("Command '{}' from channel '{}' not supported by type '{}': {}", command, channelUID,
                     cachedValue.getClass().getSimpleName(), e.getMessage());
             receivedOrTimeout();
             return;
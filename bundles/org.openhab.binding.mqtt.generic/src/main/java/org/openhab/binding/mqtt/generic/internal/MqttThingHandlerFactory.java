@@ -28,11 +28,15 @@ import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
 import org.openhab.core.transform.TransformationHelper;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.io.metrics.BindingMetrics;
+import org.openhab.io.metrics.BindingMetricsProvider;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link MqttThingHandlerFactory} is responsible for creating things and thing
@@ -46,6 +50,7 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
+    private volatile @Nullable BindingMetrics bindingMetrics;
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -73,12 +78,24 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         this.stateDescriptionProvider = null;
     }
 
+    /**
+     * The metrics service is optional, things that are created before it is available do not publish metrics.
+     */
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = bindingMetricsProvider.getBindingMetrics(MqttBindingConstants.BINDING_ID);
+    }
+
+    protected void unsetBindingMetricsProvider(BindingMetricsProvider bindingMetricsProvider) {
+        this.bindingMetrics = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(MqttBindingConstants.GENERIC_MQTT_THING)) {
-            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500);
+            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500, bindingMetrics);
         }
         return null;
     }
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -39,9 +40,12 @@ import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.type.ChannelTypeUID;
 import org.openhab.core.types.StateDescription;
+import org.openhab.io.metrics.BindingMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * This handler manages manual created Things with manually added channels to link to MQTT topics.
  *
@@ -53,6 +57,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
     protected final TransformationServiceProvider transformationServiceProvider;
+    private final @Nullable BindingMetrics bindingMetrics;
 
     /**
      * Creates a new Thing handler for generic MQTT channels.
@@ -64,9 +69,25 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
             TransformationServiceProvider transformationServiceProvider, int subscribeTimeout) {
+        this(thing, stateDescProvider, transformationServiceProvider, subscribeTimeout, null);
+    }
+
+    /**
+     * Creates a new Thing handler for generic MQTT channels.
+     *
+     * @param thing The thing of this handler
+     * @param stateDescProvider A channel state provider
+     * @param transformationServiceProvider The transformation service provider
+     * @param subscribeTimeout The subscribe timeout
+     * @param bindingMetrics The metrics the message processing times are published to, may be null
+     */
+    public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
+            TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
+            @Nullable BindingMetrics bindingMetrics) {
         super(thing, subscribeTimeout);
         this.stateDescProvider = stateDescProvider;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.bindingMetrics = bindingMetrics;
     }
 
     @Override
@@ -99,6 +120,10 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
     public void dispose() {
         // Remove all state descriptions of this handler
         channelStateByChannelUID.forEach((uid, state) -> stateDescProvider.remove(uid));
+        BindingMetrics bindingMetrics = this.bindingMetrics;
+        if (bindingMetrics != null) {
+            bindingMetrics.removeMeters(thing.getUID());
+        }
         super.dispose();
         // there is a design flaw, we can't clean up our stuff because it is needed by the super-class on disposal for
         // unsubscribing
@@ -123,6 +148,12 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     protected ChannelState createChannelState(ChannelConfig channelConfig, ChannelUID channelUID, Value valueState) {
         ChannelState state = new ChannelState(channelConfig, channelUID, valueState, this);
+        BindingMetrics bindingMetrics = this.bindingMetrics;
+        if (bindingMetrics != null) {
+            Timer processingTimer = bindingMetrics.timer(channelUID.getThingUID(), "message.processing.time", "channel",
+                    channelUID.getId());
+            state.setProcessingTimeListener(nanos -> processingTimer.record(nanos, TimeUnit.NANOSECONDS));
+        }
 
         // Incoming value transformations
         state.addTransformation(channelConfig.transformationPattern, transformationServiceProvider);
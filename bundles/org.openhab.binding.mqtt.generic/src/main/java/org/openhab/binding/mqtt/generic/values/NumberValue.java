@@ -117,6 +117,53 @@ public class NumberValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value != null ? new DecimalType(value) : null;
+    }
+
+    /**
+     * Parses a plain decimal number like {@code -12.50} from its ASCII representation.
+     *
+     * @return The number or null if the payload is not a plain decimal number or too long to be parsed without
+     *         overflow.
+     */
+    static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        int length = payload.length;
+        // at most 18 digits fit into a long
+        if (length == 0 || length > 18) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        if (payload[0] == '-' || payload[0] == '+') {
+            negative = payload[0] == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType) {
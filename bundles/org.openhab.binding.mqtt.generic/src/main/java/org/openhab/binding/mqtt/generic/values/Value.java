@@ -136,6 +136,17 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses an untransformed MQTT payload directly into a command, without decoding it into a string first.
+     * Implementations only need to handle the common, cheap to detect payloads.
+     *
+     * @param payload The raw MQTT payload.
+     * @return The command or null if the payload has to be parsed from its string representation.
+     */
+    public @Nullable Command parseCommand(byte[] payload) {
+        return null;
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -355,4 +356,30 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.update(new DecimalType(9.0)));
     }
+
+    @Test
+    public void numberPayloadParsing() {
+        NumberValue v = new NumberValue(null, null, null, null);
+        assertThat(v.parseCommand("15".getBytes(StandardCharsets.UTF_8)), is(new DecimalType(15)));
+        assertThat(v.parseCommand("-12.50".getBytes(StandardCharsets.UTF_8)), is(new DecimalType("-12.50")));
+        assertThat(v.parseCommand(".5".getBytes(StandardCharsets.UTF_8)), is(new DecimalType("0.5")));
+        // payloads that need the string based parsing
+        assertNull(v.parseCommand("".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("-".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("1.2.3".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("1e3".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("20 °C".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("INCREASE".getBytes(StandardCharsets.UTF_8)));
+        assertNull(v.parseCommand("1234567890123456789".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void onOffPayloadParsing() {
+        OnOffValue v = new OnOffValue("fancyON", "fancyOff");
+        assertThat(v.parseCommand("ON".getBytes(StandardCharsets.UTF_8)), is(OnOffType.ON));
+        assertThat(v.parseCommand("OFF".getBytes(StandardCharsets.UTF_8)), is(OnOffType.OFF));
+        assertThat(v.parseCommand("fancyON".getBytes(StandardCharsets.UTF_8)), is(OnOffType.ON));
+        assertThat(v.parseCommand("fancyOff".getBytes(StandardCharsets.UTF_8)), is(OnOffType.OFF));
+        assertNull(v.parseCommand("on".getBytes(StandardCharsets.UTF_8)));
+    }
 }
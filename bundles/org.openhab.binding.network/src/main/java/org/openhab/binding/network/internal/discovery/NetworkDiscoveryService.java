@@ -32,7 +32,9 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.discovery.NetworkSweep.SweepListener;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProbeScheduler;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -49,13 +51,15 @@ import org.slf4j.LoggerFactory;
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * In sweep mode, it only tries the TCP ports at a limited rate and reads the ARP table, see {@link NetworkSweep}.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
-public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
+public class NetworkDiscoveryService extends AbstractDiscoveryService
+        implements PresenceDetectionListener, SweepListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
@@ -68,6 +72,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
     private AtomicInteger scannedIPcount = new AtomicInteger(0);
     private @Nullable ExecutorService executorService = null;
+    private @Nullable NetworkSweep networkSweep = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -100,6 +105,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (executorService != null) {
             executorService.shutdown();
         }
+        final NetworkSweep sweep = networkSweep;
+        if (sweep != null) {
+            sweep.cancel();
+        }
         super.deactivate();
     }
 
@@ -120,11 +129,30 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     public void finalDetectionResult(PresenceDetectionValue value) {
     }
 
+    @Override
+    public void pingDeviceFound(String ip) {
+        newPingDevice(ip);
+    }
+
+    @Override
+    public void serviceDeviceFound(String ip, int tcpPort) {
+        newServiceDevice(ip, tcpPort);
+    }
+
+    @Override
+    public void sweepFinished() {
+        stopScan();
+    }
+
     /**
      * Starts the DiscoveryThread for each IP on each interface on the network
      */
     @Override
     protected void startScan() {
+        if (configuration.discoverySweepMode) {
+            startSweep();
+            return;
+        }
         if (executorService == null) {
             executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
         }
@@ -162,9 +190,34 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         }
     }
 
+    /**
+     * Starts a rate limited sweep of all IPs on each interface on the network
+     */
+    private synchronized void startSweep() {
+        NetworkSweep sweep = networkSweep;
+        if (sweep != null) {
+            sweep.cancel();
+        }
+        removeOlderResults(getTimestampOfLastScan(), null);
+        logger.trace("Starting Network Device Discovery in sweep mode");
+
+        sweep = new NetworkSweep(networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE), tcpServicePorts,
+                configuration.discoverySweepRate.intValue(), PING_TIMEOUT_IN_MS, PresenceProbeScheduler.getInstance(),
+                networkUtils, this);
+        networkSweep = sweep;
+        sweep.start(scheduler);
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final NetworkSweep sweep = networkSweep;
+        if (sweep != null) {
+            sweep.cancel();
+            logger.debug("Network sweep scanned {} addresses ({} addresses/s)", sweep.getScannedAddresses(),
+                    String.format("%.1f", sweep.getAddressesPerSecond()));
+            networkSweep = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
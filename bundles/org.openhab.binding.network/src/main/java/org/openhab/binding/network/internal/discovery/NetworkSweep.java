@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProbeScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link NetworkSweep} scans a list of addresses at a bounded rate without blocking a thread per address.
+ *
+ * TCP connection attempts to the service ports are performed by the shared {@link PresenceProbeScheduler}.
+ * The connection attempts make the operating system resolve the hardware addresses of the scanned hosts, so the ARP
+ * table is read periodically to find the hosts which are present but have none of the ports open. Results are
+ * reported as soon as they are found.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkSweep {
+    static final long TICK_IN_MS = 100;
+    static final int ARP_TABLE_READ_TICKS = 10;
+    static final int MAX_PENDING_ADDRESSES = 256;
+
+    /**
+     * Receives the results of a {@link NetworkSweep}.
+     */
+    public interface SweepListener {
+        void pingDeviceFound(String ip);
+
+        void serviceDeviceFound(String ip, int tcpPort);
+
+        void sweepFinished();
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkSweep.class);
+
+    private final List<String> addresses;
+    private final Set<String> addressSet;
+    private final Set<Integer> tcpPorts;
+    private final int addressesPerSecond;
+    private final int timeoutInMS;
+    private final PresenceProbeScheduler probeScheduler;
+    private final NetworkUtils networkUtils;
+    private final SweepListener listener;
+
+    private final Set<String> reportedAddresses = new HashSet<>();
+    private @Nullable ScheduledFuture<?> sweepJob;
+    private int nextAddress;
+    private int pendingAddresses;
+    private int scannedAddresses;
+    private int ticks;
+    private double budget;
+    private long startTimeInMS;
+    private long endTimeInMS;
+    private boolean finished;
+
+    /**
+     * @param addresses The IP addresses to scan
+     * @param tcpPorts The TCP ports probed on every address
+     * @param addressesPerSecond Maximum number of addresses probed per second
+     * @param timeoutInMS Timeout of a single connection attempt
+     */
+    public NetworkSweep(Set<String> addresses, Set<Integer> tcpPorts, int addressesPerSecond, int timeoutInMS,
+            PresenceProbeScheduler probeScheduler, NetworkUtils networkUtils, SweepListener listener) {
+        this.addresses = new ArrayList<>(addresses);
+        this.addressSet = addresses;
+        this.tcpPorts = tcpPorts;
+        this.addressesPerSecond = Math.max(1, addressesPerSecond);
+        this.timeoutInMS = timeoutInMS;
+        this.probeScheduler = probeScheduler;
+        this.networkUtils = networkUtils;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the sweep.
+     *
+     * @param scheduler The scheduler used to start the probes. The probes do not block its threads.
+     */
+    public synchronized void start(ScheduledExecutorService scheduler) {
+        logger.debug("Sweeping {} addresses with up to {} addresses per second", addresses.size(),
+                addressesPerSecond);
+        startTimeInMS = System.currentTimeMillis();
+        sweepJob = scheduler.scheduleWithFixedDelay(this::tick, 0, TICK_IN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sweep. Probes that are already running are not reported anymore.
+     */
+    public synchronized void cancel() {
+        if (!finished) {
+            finished = true;
+            endTimeInMS = System.currentTimeMillis();
+            cancelSweepJob();
+        }
+    }
+
+    public synchronized int getScannedAddresses() {
+        return scannedAddresses;
+    }
+
+    /**
+     * @return The average number of scanned addresses per second since the sweep was started.
+     */
+    public synchronized double getAddressesPerSecond() {
+        long end = finished ? endTimeInMS : System.currentTimeMillis();
+        long duration = end - startTimeInMS;
+        return duration > 0 ? scannedAddresses * 1000.0 / duration : 0;
+    }
+
+    void tick() {
+        if (sweep()) {
+            // outside of the lock, as the listener may cancel the sweep from another thread
+            listener.sweepFinished();
+        }
+    }
+
+    /**
+     * Starts the next probes.
+     *
+     * @return true if the sweep has finished
+     */
+    private synchronized boolean sweep() {
+        if (finished) {
+            return false;
+        }
+        // allow to catch up with a tick that was late, but not to send bursts
+        double addressesPerTick = addressesPerSecond * TICK_IN_MS / 1000.0;
+        budget = Math.min(budget + addressesPerTick, Math.max(1, 2 * addressesPerTick));
+        while (budget >= 1 && nextAddress < addresses.size() && pendingAddresses < MAX_PENDING_ADDRESSES) {
+            probe(addresses.get(nextAddress++));
+            budget--;
+        }
+
+        if (++ticks % ARP_TABLE_READ_TICKS == 0) {
+            readArpTable();
+            logger.trace("Swept {} of {} addresses ({} addresses/s)", scannedAddresses, addresses.size(),
+                    String.format("%.1f", getAddressesPerSecond()));
+        }
+        if (nextAddress >= addresses.size() && pendingAddresses == 0) {
+            finish();
+            return true;
+        }
+        return false;
+    }
+
+    private void probe(String ip) {
+        pendingAddresses++;
+        List<CompletableFuture<?>> probes = new ArrayList<>(tcpPorts.size());
+        for (int tcpPort : tcpPorts) {
+            probes.add(probeScheduler.servicePing(ip, tcpPort, timeoutInMS).thenAccept(result -> {
+                if (result.isPresent() && result.get().isSuccess()) {
+                    reportServiceDevice(ip, tcpPort);
+                }
+            }));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture[0])).whenComplete((r, e) -> probeFinished());
+    }
+
+    private synchronized void probeFinished() {
+        pendingAddresses--;
+        scannedAddresses++;
+    }
+
+    private synchronized void reportServiceDevice(String ip, int tcpPort) {
+        if (!finished) {
+            listener.serviceDeviceFound(ip, tcpPort);
+        }
+    }
+
+    private void readArpTable() {
+        for (String ip : networkUtils.getArpTableAddresses()) {
+            if (addressSet.contains(ip) && reportedAddresses.add(ip)) {
+                listener.pingDeviceFound(ip);
+            }
+        }
+    }
+
+    private void finish() {
+        // the last connection attempts may have updated the ARP table
+        readArpTable();
+        finished = true;
+        endTimeInMS = System.currentTimeMillis();
+        cancelSweepJob();
+        logger.debug("Swept {} addresses in {} ms ({} addresses/s), found {} devices in the ARP table",
+                scannedAddresses, endTimeInMS - startTimeInMS, String.format("%.1f", getAddressesPerSecond()),
+                reportedAddresses.size());
+    }
+
+    private void cancelSweepJob() {
+        ScheduledFuture<?> job = sweepJob;
+        if (job != null) {
+            job.cancel(false);
+            sweepJob = null;
+        }
+    }
+}
@@ -29,6 +29,8 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Enumeration;
@@ -54,6 +56,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final String ARP_TABLE_PATH = "/proc/net/arp";
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -197,6 +201,35 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Reads the IPv4 addresses of all neighbours with a resolved hardware address from the ARP table of the
+     * operating system. This is a single cheap read, so it is suitable to check many addresses at once.
+     *
+     * @return The IP addresses. Empty if the ARP table is not available, which is the case on all systems except
+     *         Linux.
+     */
+    public Set<String> getArpTableAddresses() {
+        Set<String> addresses = new HashSet<>();
+        Path arpTable = Path.of(ARP_TABLE_PATH);
+        if (!Files.isReadable(arpTable)) {
+            return addresses;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(arpTable)) {
+            // skip the header line
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                // IP address, HW type, Flags, HW address, Mask, Device
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length >= 4 && !"0x0".equals(columns[2]) && !"00:00:00:00:00:00".equals(columns[3])) {
+                    addresses.add(columns[0]);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to read the ARP table: {}", e.getMessage());
+        }
+        return addresses;
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton that performs the presence probes of all network things.
+ *
+ * TCP connection probes are non-blocking and share a single selector thread. Probes that need a thread (like
+ * executing the ping or arping tools) are run by a bounded pool of worker threads. Identical probes which are
+ * requested while one is still in progress share its result. All threads are stopped when they are idle.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeScheduler {
+    private static final int MAX_WORKER_THREADS = 32;
+    private static final int IDLE_TIMEOUT_IN_S = 60;
+    private static final long MAX_SELECT_TIME_IN_MS = 1000;
+
+    private static final PresenceProbeScheduler INSTANCE = new PresenceProbeScheduler();
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeScheduler.class);
+
+    private final ThreadPoolExecutor workers;
+    private final Map<String, CompletableFuture<Optional<PingResult>>> runningProbes = new ConcurrentHashMap<>();
+    private final Queue<PendingConnect> newConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    private static class PendingConnect {
+        private final SocketChannel channel;
+        private final CompletableFuture<Optional<PingResult>> result;
+        private final long startTimeInMS;
+        private final long deadlineInMS;
+
+        private PendingConnect(SocketChannel channel, CompletableFuture<Optional<PingResult>> result,
+                long startTimeInMS, int timeoutInMS) {
+            this.channel = channel;
+            this.result = result;
+            this.startTimeInMS = startTimeInMS;
+            this.deadlineInMS = startTimeInMS + timeoutInMS;
+        }
+
+        private void complete(boolean success) {
+            close();
+            result.complete(Optional.of(new PingResult(success, System.currentTimeMillis() - startTimeInMS)));
+        }
+
+        private void fail(IOException e) {
+            close();
+            result.completeExceptionally(e);
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    PresenceProbeScheduler() {
+        workers = new ThreadPoolExecutor(MAX_WORKER_THREADS, MAX_WORKER_THREADS, IDLE_TIMEOUT_IN_S, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("presenceDetection", true));
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    public static PresenceProbeScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs a blocking probe on one of the worker threads. If a probe with the same key is already running, its
+     * result is shared instead.
+     *
+     * @param key Identifies the probe, e.g. the type of the probe, all parameters affecting its result (like the
+     *            method and the timeout) and the host address.
+     * @param probe The probe. An exception completes the returned future exceptionally.
+     * @return The result of the probe.
+     */
+    public CompletableFuture<Optional<PingResult>> submit(String key, Callable<Optional<PingResult>> probe) {
+        return coalesce(key, result -> workers.execute(() -> {
+            try {
+                result.complete(probe.call());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }));
+    }
+
+    /**
+     * Tries to open a TCP connection to the given host and port without blocking a thread. If the same host and
+     * port is already probed with the same timeout, the result of that probe is shared.
+     *
+     * @param host The IP address of the host.
+     * @param port The TCP port.
+     * @param timeoutInMS Timeout in milliseconds.
+     * @return The result of the probe. It is not successful if the connection was refused or timed out.
+     */
+    public CompletableFuture<Optional<PingResult>> servicePing(String host, int port, int timeoutInMS) {
+        return coalesce("tcp " + timeoutInMS + " " + host + ":" + port, result -> {
+            long startTimeInMS = System.currentTimeMillis();
+            try {
+                SocketChannel channel = SocketChannel.open();
+                PendingConnect connect = new PendingConnect(channel, result, startTimeInMS, timeoutInMS);
+                try {
+                    channel.configureBlocking(false);
+                    if (channel.connect(new InetSocketAddress(host, port))) {
+                        connect.complete(true);
+                        return;
+                    }
+                } catch (IOException e) {
+                    // refused or unreachable right away
+                    connect.complete(false);
+                    return;
+                }
+                newConnects.add(connect);
+                try {
+                    wakeUpSelector();
+                } catch (IOException e) {
+                    newConnects.remove(connect);
+                    connect.fail(e);
+                }
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private CompletableFuture<Optional<PingResult>> coalesce(String key,
+            Consumer<CompletableFuture<Optional<PingResult>>> starter) {
+        CompletableFuture<Optional<PingResult>> sharedResult = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> runningProbe = runningProbes.putIfAbsent(key, sharedResult);
+        if (runningProbe != null) {
+            logger.trace("Sharing result of running probe '{}'", key);
+            return runningProbe;
+        }
+        CompletableFuture<Optional<PingResult>> newProbe = new CompletableFuture<>();
+        newProbe.whenComplete((r, e) -> {
+            // the probe must not be shared anymore when its result is received
+            runningProbes.remove(key, sharedResult);
+            if (e != null) {
+                sharedResult.completeExceptionally(e);
+            } else {
+                sharedResult.complete(r);
+            }
+        });
+        starter.accept(newProbe);
+        return sharedResult;
+    }
+
+    private synchronized void wakeUpSelector() throws IOException {
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        selector = Selector.open();
+        this.selector = selector;
+        final Selector threadSelector = selector;
+        new NamedThreadFactory("presenceDetectionTCP", true).newThread(() -> runSelector(threadSelector)).start();
+    }
+
+    /**
+     * Stops the selector thread if there is nothing left to do.
+     *
+     * @return true if the thread has to stop
+     */
+    private synchronized boolean stopSelectorIfIdle(Selector selector) {
+        if (!selector.keys().isEmpty() || !newConnects.isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+        return true;
+    }
+
+    private void runSelector(Selector selector) {
+        try {
+            while (true) {
+                PendingConnect connect;
+                while ((connect = newConnects.poll()) != null) {
+                    try {
+                        connect.channel.register(selector, SelectionKey.OP_CONNECT, connect);
+                    } catch (IOException e) {
+                        connect.complete(false);
+                    }
+                }
+                if (stopSelectorIfIdle(selector)) {
+                    return;
+                }
+
+                long now = System.currentTimeMillis();
+                long selectTime = MAX_SELECT_TIME_IN_MS;
+                for (SelectionKey key : selector.keys()) {
+                    PendingConnect pending = (PendingConnect) key.attachment();
+                    selectTime = Math.max(1, Math.min(selectTime, pending.deadlineInMS - now));
+                }
+                selector.select(selectTime);
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    PendingConnect pending = (PendingConnect) key.attachment();
+                    boolean success;
+                    try {
+                        success = pending.channel.finishConnect();
+                    } catch (IOException e) {
+                        // ConnectException, NoRouteToHostException etc.
+                        success = false;
+                    }
+                    key.cancel();
+                    pending.complete(success);
+                }
+                selector.selectedKeys().clear();
+
+                now = System.currentTimeMillis();
+                for (SelectionKey key : selector.keys()) {
+                    PendingConnect pending = (PendingConnect) key.attachment();
+                    if (key.isValid() && pending.deadlineInMS <= now) {
+                        key.cancel();
+                        pending.complete(false);
+                    }
+                }
+                // cancelled keys are removed from the key set by the next selection operation
+                selector.selectNow();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.warn("TCP presence detection stopped unexpectedly: {}", e.getMessage());
+            synchronized (this) {
+                this.selector = null;
+            }
+            try {
+                for (SelectionKey key : selector.keys()) {
+                    ((PendingConnect) key.attachment()).complete(false);
+                }
+                selector.close();
+            } catch (IOException | ClosedSelectorException ignored) {
+            }
+            PendingConnect connect;
+            while ((connect = newConnects.poll()) != null) {
+                connect.complete(false);
+            }
+        }
+    }
+}
@@ -20,9 +20,12 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -41,6 +44,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeScheduler;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -55,7 +59,7 @@ public class PresenceDetectionTest {
     private PresenceDetection subject;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
+    private @Mock PresenceProbeScheduler probeScheduler;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
@@ -68,6 +72,12 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.probeScheduler = probeScheduler;
+        // Run the probes synchronously
+        when(probeScheduler.submit(anyString(), any())).thenAnswer(
+                i -> CompletableFuture.completedFuture(i.<Callable<Optional<PingResult>>> getArgument(1).call()));
+        when(probeScheduler.servicePing(anyString(), anyInt(), anyInt())).thenAnswer(i -> CompletableFuture
+                .completedFuture(networkUtils.servicePing(i.getArgument(0), i.getArgument(1), i.getArgument(2))));
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -89,26 +99,28 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and the detection finishes when they are done.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.detectionFuture);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<Void> check = new CompletableFuture<>();
+        doReturn(check).when(subject).performARPping(any());
+        doReturn(check).when(subject).performJavaPing();
+        doReturn(check).when(subject).performSystemPing();
+        doReturn(check).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFuture);
 
-        subject.waitForPresenceDetection();
+        check.complete(null);
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFuture);
+        verify(listener).finalDetectionResult(any());
     }
 
     @Test
@@ -142,22 +154,32 @@ public class PresenceDetectionTest {
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        // Defer the probes
+        List<CompletableFuture<Optional<PingResult>>> probes = new ArrayList<>();
+        when(probeScheduler.submit(anyString(), any())).thenAnswer(i -> {
+            CompletableFuture<Optional<PingResult>> probe = new CompletableFuture<>();
+            probes.add(probe);
+            return probe;
+        });
+        when(probeScheduler.servicePing(anyString(), anyInt(), anyInt())).thenAnswer(i -> {
+            CompletableFuture<Optional<PingResult>> probe = new CompletableFuture<>();
+            probes.add(probe);
+            return probe;
+        });
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFuture);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
+        // Finish the different presence detection probes now
+        assertThat(probes.size(), is(3));
+        for (CompletableFuture<Optional<PingResult>> probe : probes) {
+            probe.complete(Optional.of(new PingResult(true, 10)));
         }
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
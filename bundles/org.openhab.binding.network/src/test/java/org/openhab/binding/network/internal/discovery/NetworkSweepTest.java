@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.discovery.NetworkSweep.SweepListener;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProbeScheduler;
+
+/**
+ * Tests cases for {@link NetworkSweep}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class NetworkSweepTest {
+    private @Mock PresenceProbeScheduler probeScheduler;
+    private @Mock NetworkUtils networkUtils;
+    private @Mock SweepListener listener;
+    private @Mock ScheduledExecutorService scheduler;
+
+    private final List<CompletableFuture<Optional<PingResult>>> probes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(probeScheduler.servicePing(anyString(), anyInt(), anyInt())).thenAnswer(i -> {
+            CompletableFuture<Optional<PingResult>> probe = new CompletableFuture<>();
+            probes.add(probe);
+            return probe;
+        });
+        when(networkUtils.getArpTableAddresses()).thenReturn(Set.of());
+    }
+
+    private Set<String> addresses(int count) {
+        Set<String> addresses = new LinkedHashSet<>();
+        for (int i = 1; i <= count; i++) {
+            addresses.add("192.168.0." + i);
+        }
+        return addresses;
+    }
+
+    @Test
+    public void rateIsLimited() {
+        // 20 addresses per second are 2 addresses per tick
+        NetworkSweep sweep = new NetworkSweep(addresses(10), Set.of(80), 20, 500, probeScheduler, networkUtils,
+                listener);
+
+        sweep.tick();
+        assertThat(probes.size(), is(2));
+        sweep.tick();
+        assertThat(probes.size(), is(4));
+    }
+
+    @Test
+    public void resultsAreReportedAndSweepFinishes() {
+        NetworkSweep sweep = new NetworkSweep(addresses(2), new LinkedHashSet<>(List.of(80, 554)), 1000, 500,
+                probeScheduler, networkUtils, listener);
+        sweep.start(scheduler);
+        verify(scheduler).scheduleWithFixedDelay(any(), eq(0L), eq(NetworkSweep.TICK_IN_MS), any());
+
+        sweep.tick();
+        assertThat(probes.size(), is(4));
+
+        // first address has port 80 open, the second one is only in the ARP table
+        probes.get(0).complete(Optional.of(new PingResult(true, 5)));
+        verify(listener).serviceDeviceFound("192.168.0.1", 80);
+        for (CompletableFuture<Optional<PingResult>> probe : probes) {
+            probe.complete(Optional.of(new PingResult(false, 5)));
+        }
+        assertThat(sweep.getScannedAddresses(), is(2));
+
+        when(networkUtils.getArpTableAddresses()).thenReturn(Set.of("192.168.0.2", "10.0.0.1"));
+        sweep.tick();
+        verify(listener).pingDeviceFound("192.168.0.2");
+        verify(listener, never()).pingDeviceFound("10.0.0.1");
+        verify(listener).sweepFinished();
+
+        // a finished sweep does nothing anymore
+        sweep.tick();
+        verify(listener, times(1)).sweepFinished();
+        verify(listener, times(1)).serviceDeviceFound(anyString(), anyInt());
+    }
+
+    @Test
+    public void cancelledSweepDoesNotReport() {
+        NetworkSweep sweep = new NetworkSweep(addresses(1), Set.of(80), 1000, 500, probeScheduler, networkUtils,
+                listener);
+        sweep.tick();
+        sweep.cancel();
+        probes.get(0).complete(Optional.of(new PingResult(true, 5)));
+
+        verify(listener, never()).serviceDeviceFound(anyString(), anyInt());
+        sweep.tick();
+        verify(listener, never()).sweepFinished();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link PresenceProbeScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeSchedulerTest {
+
+    private final PresenceProbeScheduler subject = new PresenceProbeScheduler();
+
+    @Test
+    public void runningProbesAreShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<PingResult>> first = subject.submit("icmp 10.0.0.1", () -> {
+            release.await();
+            return Optional.of(new PingResult(true, 1));
+        });
+        CompletableFuture<Optional<PingResult>> second = subject.submit("icmp 10.0.0.1", () -> Optional.empty());
+        CompletableFuture<Optional<PingResult>> other = subject.submit("icmp 10.0.0.2", () -> Optional.empty());
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS).get().isSuccess());
+
+        // A finished probe is not shared anymore
+        CompletableFuture<Optional<PingResult>> third = subject.submit("icmp 10.0.0.1", () -> Optional.empty());
+        assertNotSame(first, third);
+        assertFalse(third.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    public void servicePing() throws Exception {
+        int closedPort;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Optional<PingResult> result = subject.servicePing("127.0.0.1", serverSocket.getLocalPort(), 2000)
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(result.get().isSuccess());
+            closedPort = serverSocket.getLocalPort();
+        }
+
+        Optional<PingResult> result = subject.servicePing("127.0.0.1", closedPort, 2000).get(5, TimeUnit.SECONDS);
+        assertFalse(result.get().isSuccess());
+    }
+
+    @Test
+    public void failingProbeCompletesExceptionally() {
+        CompletableFuture<Optional<PingResult>> probe = subject.submit("arp eth0 10.0.0.1", () -> {
+            throw new IOException("arping not found");
+        });
+        assertThrows(Exception.class, () -> probe.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -12,20 +12,24 @@
  */
 package org.openhab.binding.shelly.internal.api1;
 
-import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.*;
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.substringBetween;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -40,6 +44,9 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * The listeners are indexed by the IP address and the MAC address of their device, so each packet is delivered to the
+ * listener of the device that sent it.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
@@ -51,6 +58,11 @@ public class Shelly1CoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);
     private final Set<Shelly1CoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private final Map<String, Shelly1CoapListener> listenersByIp = new ConcurrentHashMap<>();
+    private final Map<String, Shelly1CoapListener> listenersByMac = new ConcurrentHashMap<>();
+    private final Map<String, Integer> lastMessageIds = new ConcurrentHashMap<>();
+    private final AtomicLong unmatchedPackets = new AtomicLong();
+    private final AtomicLong duplicatePackets = new AtomicLong();
 
     protected class ShellyStatusListener extends CoapResource {
         private Shelly1CoapServer listener;
@@ -78,8 +90,26 @@ public class Shelly1CoapServer {
         }
     }
 
-    public synchronized void start(String localIp, int port, Shelly1CoapListener listener)
+    /**
+     * Start the server (if not yet started) and register the listener for the packets of a device
+     *
+     * @param localIp IP address of the interface to listen on
+     * @param port CoIoT port
+     * @param deviceIp IP address or host name of the device
+     * @param deviceMac MAC address of the device, used if the packets are not received from the configured address
+     * @param listener listener for the packets of the device
+     */
+    public void start(String localIp, int port, String deviceIp, String deviceMac, Shelly1CoapListener listener)
             throws UnknownHostException, SocketException {
+        // resolving the host name may block, so it must not hold up the other devices waiting for the lock
+        String deviceAddress = resolve(deviceIp);
+        synchronized (this) {
+            startServer(localIp, port);
+            register(listener, deviceIp, deviceAddress, deviceMac);
+        }
+    }
+
+    private void startServer(String localIp, int port) throws UnknownHostException, SocketException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, port);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -97,14 +127,103 @@ public class Shelly1CoapServer {
             server.add(cit);
             started = true;
         }
+    }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+    /**
+     * The device may be configured by its host name, the packets are received from its address
+     *
+     * @return the IP address of the device or null if it can't be resolved
+     */
+    private @Nullable String resolve(String deviceIp) {
+        try {
+            return InetAddress.getByName(deviceIp).getHostAddress();
+        } catch (UnknownHostException e) {
+            logger.debug("Unable to resolve device address {}, packets will be matched by MAC address", deviceIp);
+            return null;
         }
     }
 
+    private void register(Shelly1CoapListener listener, String deviceIp, @Nullable String deviceAddress,
+            String deviceMac) {
+        unregister(listener);
+        coapListeners.add(listener);
+        listenersByIp.put(deviceIp, listener);
+        if (deviceAddress != null) {
+            listenersByIp.put(deviceAddress, listener);
+        }
+        String mac = deviceMac.replace(":", "").toUpperCase();
+        if (!mac.isEmpty()) {
+            listenersByMac.put(mac, listener);
+            if (mac.length() > 6) {
+                // CoIoT version 1 only includes the last 6 digits of the MAC address in the device id
+                listenersByMac.put(mac.substring(mac.length() - 6), listener);
+            }
+        }
+    }
+
+    private void unregister(Shelly1CoapListener listener) {
+        coapListeners.remove(listener);
+        listenersByIp.values().removeIf(l -> l == listener);
+        listenersByMac.values().removeIf(l -> l == listener);
+    }
+
+    /**
+     * Deliver a packet to the listener of the device that sent it, by the MAC address in the global device id option
+     * or by its IP address if the packet has no device id.
+     *
+     * @param response the packet
+     */
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        InetAddress address = peer.getAddress();
+        String ip = address != null ? address.getHostAddress() : peer.getHostString();
+
+        // multicast packets may be received more than once, e.g. on multiple interfaces
+        Integer lastMessageId = lastMessageIds.put(ip, response.getMID());
+        if (response.isDuplicate() || (lastMessageId != null && lastMessageId == response.getMID())) {
+            long count = duplicatePackets.incrementAndGet();
+            logger.trace("Duplicate CoIoT packet from {} (MID={}) discarded ({} in total)", ip, response.getMID(),
+                    count);
+            return;
+        }
+
+        // the IP address may be shared, e.g. by a device behind a router, the device id identifies the device
+        String macId = getMacId(response);
+        Shelly1CoapListener listener = macId.isEmpty() ? listenersByIp.get(ip) : listenersByMac.get(macId);
+        if (listener == null) {
+            long count = unmatchedPackets.incrementAndGet();
+            logger.trace("CoIoT packet from {} does not belong to a known device ({} in total)", ip, count);
+            return;
+        }
+        listener.processResponse(response);
+    }
+
+    /**
+     * Get the MAC address from the global device id option, format: &lt;device type&gt;#&lt;mac address&gt;#&lt;coap
+     * version&gt;
+     */
+    private static String getMacId(Response response) {
+        for (Option opt : response.getOptions().asSortedList()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                String devId = opt.getStringValue();
+                return devId.contains("#") ? substringBetween(devId, "#", "#").toUpperCase() : "";
+            }
+        }
+        return "";
+    }
+
+    /**
+     * @return number of packets that did not belong to a known device
+     */
+    public long getUnmatchedPackets() {
+        return unmatchedPackets.get();
+    }
+
+    /**
+     * @return number of packets that were discarded as duplicates
+     */
+    public long getDuplicatePackets() {
+        return duplicatePackets.get();
     }
 
     public static Response createResponse(Request request) {
@@ -126,7 +245,7 @@ public class Shelly1CoapServer {
      * Cancel pending requests and shutdown the client
      */
     public void stop(Shelly1CoapListener listener) {
-        coapListeners.remove(listener);
+        unregister(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -138,8 +257,12 @@ public class Shelly1CoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByIp.clear();
+            listenersByMac.clear();
+            lastMessageIds.clear();
             started = false;
-            logger.debug("CoAP Listener stopped");
+            logger.debug("CoAP Listener stopped ({} unmatched and {} duplicate packets discarded)",
+                    unmatchedPackets.get(), duplicatePackets.get());
         }
     }
 
@@ -15,6 +15,7 @@ package org.openhab.io.homekit.internal;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +67,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private final Set<String> pendingUpdates = new HashSet<>();
 
+    /**
+     * The items of each accessory by accessory name and the accessories of each item by item name, so that the
+     * accessories affected by an item change can be found without querying the registries.
+     */
+    private final Map<String, Set<String>> accessoryItems = new HashMap<>();
+    private final Map<String, Set<String>> itemAccessories = new HashMap<>();
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -130,10 +138,12 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
+        final long startTime = System.currentTimeMillis();
         itemRegistry.getItems().forEach(this::createRootAccessories);
         initialiseRevision();
         makeNewConfigurationRevision();
-        logger.info("Created {} HomeKit items in instance {}.", accessoryRegistry.getAllAccessories().size(), instance);
+        logger.info("Created {} HomeKit items in instance {} in {} ms.", accessoryRegistry.getAllAccessories().size(),
+                instance, System.currentTimeMillis() - startTime);
     }
 
     private void initialiseRevision() {
@@ -167,7 +177,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     @Override
     public synchronized void added(Item item) {
-        if (hasHomeKitMetadata(item)) {
+        if (hasHomeKitMetadata(item) || itemAccessories.containsKey(item.getName())) {
             markDirty(item);
         }
     }
@@ -186,6 +196,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private synchronized void markDirty(Item item) {
         logger.trace("Mark dirty item {}", item.getName());
         pendingUpdates.add(item.getName());
+        // the accessories the item belonged to so far, even if the groups or metadata were already removed
+        pendingUpdates.addAll(itemAccessories.getOrDefault(item.getName(), Set.of()));
         /*
          * If findMyAccessoryGroups fails because the accessory group has already been deleted, then we can count on a
          * later update telling us that the accessory group was removed.
@@ -205,7 +217,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     @Override
     public synchronized void removed(Item item) {
-        if (hasHomeKitMetadata(item)) {
+        if (hasHomeKitMetadata(item) || itemAccessories.containsKey(item.getName())) {
             markDirty(item);
         }
     }
@@ -229,15 +241,62 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private synchronized void applyUpdates() {
         logger.trace("Apply updates");
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        final long startTime = System.currentTimeMillis();
+        /*
+         * HomeKit clients only subscribe to the characteristics of a re-added accessory again after the configuration
+         * revision changed, so it changes whenever an accessory was removed or re-added, even if its services and
+         * characteristics are the same. An accessory can't be kept instead of being re-added: its characteristics,
+         * item readers and subscriptions reference the item instances, which the registry replaces on every update.
+         */
+        boolean accessoriesChanged = false;
         for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
+            accessoriesChanged |= removeRootAccessory(name);
             logger.trace(" Add items {}", name);
             getItemOptional(name).ifPresent(this::createRootAccessories);
+            accessoriesChanged |= accessoryItems.containsKey(name);
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (accessoriesChanged) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
+        logger.debug("Updated {} HomeKit items in instance {} in {} ms, {}.", pendingUpdates.size(), instance,
+                System.currentTimeMillis() - startTime,
+                accessoriesChanged ? "new configuration revision" : "no accessory changed");
+        pendingUpdates.clear();
+    }
+
+    /**
+     * @return true, if an accessory with the given name was removed
+     */
+    private boolean removeRootAccessory(String name) {
+        accessoryRegistry.remove(name);
+        final @Nullable Set<String> itemNames = accessoryItems.remove(name);
+        if (itemNames == null) {
+            return false;
+        }
+        for (String itemName : itemNames) {
+            final @Nullable Set<String> accessoryNames = itemAccessories.get(itemName);
+            if (accessoryNames != null) {
+                accessoryNames.remove(name);
+                if (accessoryNames.isEmpty()) {
+                    itemAccessories.remove(itemName);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addRootAccessory(String name, HomekitAccessory accessory, Item item) {
+        accessoryRegistry.addRootAccessory(name, accessory);
+        final Set<String> itemNames = new HashSet<>();
+        itemNames.add(item.getName());
+        if (item instanceof GroupItem) {
+            ((GroupItem) item).getMembers().forEach(member -> itemNames.add(member.getName()));
+        }
+        accessoryItems.put(name, itemNames);
+        itemNames.forEach(itemName -> itemAccessories.computeIfAbsent(itemName, k -> new HashSet<>()).add(name));
     }
 
     @Override
@@ -387,7 +446,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                             logger.warn("Cannot create additional accessory {}", additionalTaggedItem);
                         }
                     });
-            accessoryRegistry.addRootAccessory(taggedItem.getName(), accessory);
+            addRootAccessory(taggedItem.getName(), accessory, item);
         } catch (HomekitException e) {
             logger.warn("Cannot create accessory {}", taggedItem);
         }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingUID;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link BindingMetrics} class creates the meters of a single binding in the openHAB meter registry, so they are
+ * exported like the core metrics (e.g. on /rest/metrics/prometheus).
+ *
+ * All meters are named <code>openhab.binding.&lt;bindingId&gt;.&lt;name&gt;</code> and tagged with the UID of the
+ * thing they belong to. The meters should be created once (e.g. when the handler is initialized) and kept by the
+ * caller, and be removed with {@link #removeMeters(ThingUID)} when the thing handler is disposed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BindingMetrics {
+    public static final String METRIC_PREFIX = "openhab.binding.";
+    public static final String TAG_BINDING = "binding";
+    public static final String TAG_THING = "thing";
+
+    private final MeterRegistry meterRegistry;
+    private final String bindingId;
+    private final Map<ThingUID, Set<Meter>> thingMeters = new ConcurrentHashMap<>();
+
+    public BindingMetrics(MeterRegistry meterRegistry, String bindingId) {
+        this.meterRegistry = meterRegistry;
+        this.bindingId = bindingId;
+    }
+
+    public String getBindingId() {
+        return bindingId;
+    }
+
+    /**
+     * Get or create a timer, e.g. for the duration of requests.
+     *
+     * @param thingUID the thing the timer belongs to
+     * @param name the name of the timer within the binding
+     * @param tags additional tags as key/value pairs
+     * @return the timer
+     */
+    public Timer timer(ThingUID thingUID, String name, String... tags) {
+        return register(thingUID,
+                Timer.builder(getMeterName(name)).tags(getTags(thingUID, tags)).register(meterRegistry));
+    }
+
+    /**
+     * Get or create a counter, e.g. for the number of failed requests.
+     *
+     * @param thingUID the thing the counter belongs to
+     * @param name the name of the counter within the binding
+     * @param tags additional tags as key/value pairs
+     * @return the counter
+     */
+    public Counter counter(ThingUID thingUID, String name, String... tags) {
+        return register(thingUID,
+                Counter.builder(getMeterName(name)).tags(getTags(thingUID, tags)).register(meterRegistry));
+    }
+
+    /**
+     * Get or create a gauge, e.g. for the size of a queue. The gauge only keeps a weak reference to the object, the
+     * caller has to keep a strong reference.
+     *
+     * @param thingUID the thing the gauge belongs to
+     * @param name the name of the gauge within the binding
+     * @param object the object the value is read from
+     * @param valueFunction the function that reads the value from the object
+     * @param tags additional tags as key/value pairs
+     * @return the gauge
+     */
+    public <T> Gauge gauge(ThingUID thingUID, String name, T object, ToDoubleFunction<T> valueFunction,
+            String... tags) {
+        return register(thingUID, Gauge.builder(getMeterName(name), object, valueFunction)
+                .tags(getTags(thingUID, tags)).register(meterRegistry));
+    }
+
+    /**
+     * Remove all meters of a thing from the registry.
+     *
+     * @param thingUID the thing
+     */
+    public void removeMeters(ThingUID thingUID) {
+        @Nullable
+        Set<Meter> meters = thingMeters.remove(thingUID);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    /**
+     * Remove all meters of the binding from the registry.
+     */
+    public void removeAllMeters() {
+        Set.copyOf(thingMeters.keySet()).forEach(this::removeMeters);
+    }
+
+    private <M extends Meter> M register(ThingUID thingUID, M meter) {
+        thingMeters.computeIfAbsent(thingUID, uid -> ConcurrentHashMap.newKeySet()).add(meter);
+        return meter;
+    }
+
+    private String getMeterName(String name) {
+        return METRIC_PREFIX + bindingId + "." + name;
+    }
+
+    private Tags getTags(ThingUID thingUID, String... tags) {
+        return Tags.of(tags).and(TAG_BINDING, bindingId).and(TAG_THING, thingUID.getAsString());
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BindingMetricsProvider} provides the {@link BindingMetrics} for bindings that want to publish their own
+ * metrics (e.g. request latency or queue sizes). Bindings should reference it optionally, so they still work when the
+ * metrics service is not installed.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = BindingMetricsProvider.class)
+@NonNullByDefault
+public class BindingMetricsProvider {
+    private final Logger logger = LoggerFactory.getLogger(BindingMetricsProvider.class);
+    private final MeterRegistryProvider meterRegistryProvider;
+    private final Map<String, BindingMetrics> bindingMetrics = new ConcurrentHashMap<>();
+
+    @Activate
+    public BindingMetricsProvider(@Reference MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        bindingMetrics.values().forEach(BindingMetrics::removeAllMeters);
+        bindingMetrics.clear();
+    }
+
+    /**
+     * Get the metrics of a binding.
+     *
+     * @param bindingId the id of the binding, used in the name of all meters
+     * @return the metrics of the binding
+     */
+    public BindingMetrics getBindingMetrics(String bindingId) {
+        return bindingMetrics.computeIfAbsent(bindingId, id -> {
+            logger.debug("Providing metrics for binding {}", id);
+            return new BindingMetrics(meterRegistryProvider.getOHMeterRegistry(), id);
+        });
+    }
+}
@@ -349,6 +349,32 @@ public class JdbcBaseDAO {
         Yank.execute(sql, params);
     }
 
+    /**
+     * Stores several values of one item in a single JDBC batch. Each value is written with its own timestamp, so the
+     * batch can be flushed some time after the values have been collected.
+     *
+     * @param item the item the values belong to
+     * @param vo the item table to write to
+     * @param values the states to store, keyed by their timestamp
+     */
+    public void doStoreItemValues(Item item, ItemVO vo, Map<ZonedDateTime, State> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = null;
+        Object[][] params = new Object[values.size()][];
+        int i = 0;
+        for (Map.Entry<ZonedDateTime, State> entry : values.entrySet()) {
+            ItemVO storedVO = storeItemValueProvider(item, entry.getValue(), new ItemVO(vo.getTableName(), null));
+            if (sql == null) {
+                sql = storeItemValueBatchProvider(storedVO);
+            }
+            params[i++] = storeItemValueBatchParamsProvider(storedVO, entry.getKey());
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        Yank.executeBatch(sql, params);
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -435,6 +461,16 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    protected String storeItemValueBatchProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    protected Object[] storeItemValueBatchParamsProvider(ItemVO storedVO, ZonedDateTime date) {
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
@@ -60,6 +60,12 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private boolean writeBehind = false;
+    private int writeBehindQueueSize = 10000;
+    private int writeBehindBatchSize = 500;
+    private int writeBehindInterval = 1000;
+    private String writeBehindOverflowPolicy = "block";
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -173,6 +179,42 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wb = (String) configuration.get("writeBehind");
+        if (wb != null && !wb.isBlank()) {
+            writeBehind = Boolean.parseBoolean(wb);
+            logger.debug("JDBC::updateConfig: writeBehind={}", writeBehind);
+        }
+
+        String wq = (String) configuration.get("writeBehindQueueSize");
+        if (wq != null && !wq.isBlank() && isNumericPattern.matcher(wq).matches()) {
+            writeBehindQueueSize = Math.max(1, Integer.parseInt(wq));
+            logger.debug("JDBC::updateConfig: writeBehindQueueSize={}", writeBehindQueueSize);
+        }
+
+        String wbs = (String) configuration.get("writeBehindBatchSize");
+        if (wbs != null && !wbs.isBlank() && isNumericPattern.matcher(wbs).matches()) {
+            writeBehindBatchSize = Math.max(1, Integer.parseInt(wbs));
+            logger.debug("JDBC::updateConfig: writeBehindBatchSize={}", writeBehindBatchSize);
+        }
+
+        String wi = (String) configuration.get("writeBehindInterval");
+        if (wi != null && !wi.isBlank() && isNumericPattern.matcher(wi).matches()) {
+            writeBehindInterval = Math.max(100, Integer.parseInt(wi));
+            logger.debug("JDBC::updateConfig: writeBehindInterval={}", writeBehindInterval);
+        }
+
+        String wo = (String) configuration.get("writeBehindOverflowPolicy");
+        if (wo != null && !wo.isBlank()) {
+            if ("block".equalsIgnoreCase(wo) || "dropOldest".equalsIgnoreCase(wo)
+                    || "dropNewest".equalsIgnoreCase(wo)) {
+                writeBehindOverflowPolicy = wo;
+                logger.debug("JDBC::updateConfig: writeBehindOverflowPolicy={}", writeBehindOverflowPolicy);
+            } else {
+                logger.warn("JDBC::updateConfig: unknown writeBehindOverflowPolicy '{}', using '{}'", wo,
+                        writeBehindOverflowPolicy);
+            }
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -358,6 +400,26 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public int getWriteBehindQueueSize() {
+        return writeBehindQueueSize;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public int getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    public String getWriteBehindOverflowPolicy() {
+        return writeBehindOverflowPolicy;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
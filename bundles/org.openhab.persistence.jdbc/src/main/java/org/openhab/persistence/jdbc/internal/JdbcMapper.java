@@ -169,6 +169,21 @@ public class JdbcMapper {
         return item;
     }
 
+    public Item storeItemValues(Item item, Map<ZonedDateTime, State> values) {
+        logger.debug("JDBC::storeItemValues: item={} values={}", item, values.size());
+        String tableName = getTable(item);
+        if (tableName == null) {
+            logger.error("JDBC::storeItemValues: Unable to store {} values of item '{}'.", values.size(),
+                    item.getName());
+            return item;
+        }
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, new ItemVO(tableName, null), values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return item;
+    }
+
     public List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
             Item item) {
         logger.debug(
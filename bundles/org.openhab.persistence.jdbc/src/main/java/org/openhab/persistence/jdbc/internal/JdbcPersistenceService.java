@@ -18,9 +18,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -65,6 +67,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(JdbcPersistenceService.class.getSimpleName());
+
+    private @Nullable JdbcWriteBehindQueue writeBehindQueue;
 
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -110,6 +116,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopWriteBehindQueue();
         initialized = false;
     }
 
@@ -152,6 +159,13 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     state, item, errCnt, conf.getErrReconnectThreshold());
             return;
         }
+        JdbcWriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            queue.add(item, state, date == null ? ZonedDateTime.now() : date);
+            logger.debug("JDBC: Queued item '{}' as '{}', {} values pending.", item.getName(), state,
+                    queue.getQueueDepth());
+            return;
+        }
         long timerStart = System.currentTimeMillis();
         storeItemValue(item, state, date);
         if (logger.isDebugEnabled()) {
@@ -185,6 +199,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         Item item = null;
         String itemName = filter.getItemName();
         logger.debug("JDBC::query: item is {}", itemName);
+        flushWriteBehindQueue(itemName);
         try {
             item = itemRegistry.getItem(itemName);
         } catch (ItemNotFoundException e1) {
@@ -227,6 +242,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBehindQueue();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             checkDBSchema();
@@ -236,9 +252,64 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.valid && conf.isWriteBehind()) {
+            writeBehindQueue = new JdbcWriteBehindQueue(conf.getWriteBehindQueueSize(),
+                    conf.getWriteBehindBatchSize(), conf.getWriteBehindInterval(),
+                    JdbcWriteBehindQueue.OverflowPolicy.fromConfig(conf.getWriteBehindOverflowPolicy()),
+                    this::storeWriteBehindValues, scheduler);
+            logger.debug("JDBC::updateConfig: write-behind enabled, queueSize={} batchSize={} interval={} ms",
+                    conf.getWriteBehindQueueSize(), conf.getWriteBehindBatchSize(), conf.getWriteBehindInterval());
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopWriteBehindQueue() {
+        JdbcWriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            writeBehindQueue = null;
+            queue.stop();
+            logger.debug("JDBC::stopWriteBehindQueue: stored {} values, dropped {} values, average flush {} ms",
+                    queue.getStoredValues(), queue.getDroppedValues(), queue.getAverageFlushLatency());
+        }
+    }
+
+    /**
+     * Stores the values flushed by the write-behind queue. A failure is added to the error count, so the reconnect
+     * threshold applies to the database errors of flushes as well.
+     */
+    private void storeWriteBehindValues(Item item, Map<ZonedDateTime, State> values) {
+        try {
+            storeItemValues(item, values);
+        } catch (RuntimeException e) {
+            errCnt++;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the values of the item that are still queued for write-behind, so that they are found by queries.
+     *
+     * @param itemName the item or null to write all queued values
+     */
+    private void flushWriteBehindQueue(@Nullable String itemName) {
+        JdbcWriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            if (itemName == null) {
+                queue.flush();
+            } else {
+                queue.flush(itemName);
+            }
+        }
+    }
+
+    /**
+     * Returns the write-behind queue, if write-behind is enabled. It provides the queue depth and flush latency.
+     */
+    public @Nullable JdbcWriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
@@ -258,6 +329,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         if (itemName == null) {
             throw new IllegalArgumentException("Item name must not be null");
         }
+        // values that are still queued would otherwise be stored after they were deleted
+        flushWriteBehindQueue(itemName);
 
         String table = sqlTables.get(itemName);
         if (table == null) {
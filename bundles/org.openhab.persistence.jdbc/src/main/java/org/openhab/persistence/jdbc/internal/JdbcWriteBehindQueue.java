@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded write-behind queue for item values. Values are collected and flushed in one JDBC batch per item table,
+ * either when {@code batchSize} values are pending or when the flush interval has elapsed, whichever comes first.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBehindQueue {
+
+    /**
+     * Defines what happens to a new value when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The storing thread flushes the queue itself before the value is queued. */
+        BLOCK,
+        /** The oldest pending value is discarded in favour of the new one. */
+        DROP_OLDEST,
+        /** The new value is discarded. */
+        DROP_NEWEST;
+
+        public static OverflowPolicy fromConfig(@Nullable String value) {
+            if ("dropOldest".equalsIgnoreCase(value)) {
+                return DROP_OLDEST;
+            } else if ("dropNewest".equalsIgnoreCase(value)) {
+                return DROP_NEWEST;
+            }
+            return BLOCK;
+        }
+    }
+
+    private static class PendingValue {
+        private final Item item;
+        private final State state;
+        private final ZonedDateTime date;
+
+        private PendingValue(Item item, State state, ZonedDateTime date) {
+            this.item = item;
+            this.state = state;
+            this.date = date;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteBehindQueue.class);
+
+    private final BlockingQueue<PendingValue> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final BiConsumer<Item, Map<ZonedDateTime, State>> writer;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong droppedValues = new AtomicLong();
+    private final AtomicLong storedValues = new AtomicLong();
+    private final MovingAverage flushLatencyAverage = new MovingAverage(50);
+    private long lastFlushLatency = 0;
+
+    /**
+     * @param queueSize maximum number of pending values
+     * @param batchSize number of pending values that triggers an immediate flush
+     * @param flushInterval maximum time in milliseconds a value stays in the queue
+     * @param overflowPolicy what to do with new values when the queue is full
+     * @param writer stores all pending values of one item in a single batch
+     * @param scheduler executor used for the periodic and size triggered flushes
+     */
+    public JdbcWriteBehindQueue(int queueSize, int batchSize, long flushInterval, OverflowPolicy overflowPolicy,
+            BiConsumer<Item, Map<ZonedDateTime, State>> writer, ScheduledExecutorService scheduler) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = Math.min(batchSize, queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.writer = writer;
+        this.scheduler = scheduler;
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a value for storage.
+     *
+     * @return {@code false} if the value (or, with {@link OverflowPolicy#DROP_OLDEST}, an older one) was dropped
+     */
+    public boolean add(Item item, State state, ZonedDateTime date) {
+        PendingValue value = new PendingValue(item, state, date);
+        boolean accepted = true;
+        while (!queue.offer(value)) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                logger.debug("JDBC::add: write-behind queue is full, dropping new value of item '{}'",
+                        item.getName());
+                droppedValues.incrementAndGet();
+                return false;
+            } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                PendingValue dropped = queue.poll();
+                if (dropped != null) {
+                    logger.debug("JDBC::add: write-behind queue is full, dropping oldest value of item '{}'",
+                            dropped.item.getName());
+                    droppedValues.incrementAndGet();
+                    accepted = false;
+                }
+            } else {
+                flush();
+            }
+        }
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+        return accepted;
+    }
+
+    /**
+     * Writes all pending values, grouped per item so that each item table is written with a single batch.
+     */
+    public synchronized void flush() {
+        List<PendingValue> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        write(pending);
+    }
+
+    /**
+     * Writes the pending values of one item, so that they are visible to queries of the item. As a flush of all
+     * values holds the same lock, values that a concurrent flush already took from the queue are written as well.
+     */
+    public synchronized void flush(String itemName) {
+        List<PendingValue> pending = new ArrayList<>();
+        for (Iterator<PendingValue> iterator = queue.iterator(); iterator.hasNext();) {
+            PendingValue value = iterator.next();
+            if (itemName.equals(value.item.getName())) {
+                iterator.remove();
+                pending.add(value);
+            }
+        }
+        write(pending);
+    }
+
+    private void write(List<PendingValue> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        Map<String, Map<ZonedDateTime, State>> valuesByItem = new LinkedHashMap<>();
+        Map<String, Item> items = new LinkedHashMap<>();
+        for (PendingValue value : pending) {
+            String itemName = value.item.getName();
+            items.put(itemName, value.item);
+            // the time is the primary key of an item table, so only the last value per timestamp is kept
+            valuesByItem.computeIfAbsent(itemName, k -> new LinkedHashMap<>()).put(value.date, value.state);
+        }
+        for (Map.Entry<String, Map<ZonedDateTime, State>> entry : valuesByItem.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                continue;
+            }
+            try {
+                writer.accept(item, entry.getValue());
+            } catch (RuntimeException e) {
+                logger.warn("JDBC::flush: failed to store {} values of item '{}': {}", entry.getValue().size(),
+                        entry.getKey(), e.getMessage());
+            }
+        }
+        lastFlushLatency = System.currentTimeMillis() - timerStart;
+        flushLatencyAverage.add(lastFlushLatency);
+        storedValues.addAndGet(pending.size());
+        logger.debug("JDBC::flush: stored {} values of {} items in {} ms, {} values pending", pending.size(),
+                valuesByItem.size(), lastFlushLatency, queue.size());
+    }
+
+    /**
+     * Stops the periodic flush and writes all values that are still pending.
+     */
+    public void stop() {
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+        flush();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedValues() {
+        return droppedValues.get();
+    }
+
+    public long getStoredValues() {
+        return storedValues.get();
+    }
+
+    public synchronized long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    public synchronized int getAverageFlushLatency() {
+        return flushLatencyAverage.getAverageInteger();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.JdbcWriteBehindQueue.OverflowPolicy;
+
+/**
+ * Tests the {@link JdbcWriteBehindQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBehindQueueTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.now();
+
+    private final Map<String, List<Map<ZonedDateTime, State>>> batches = new LinkedHashMap<>();
+    private final NumberItem item1 = new NumberItem("item1");
+    private final NumberItem item2 = new NumberItem("item2");
+
+    private JdbcWriteBehindQueue createQueue(int queueSize, OverflowPolicy policy) {
+        return new JdbcWriteBehindQueue(queueSize, queueSize, 1000, policy, this::store,
+                mock(ScheduledExecutorService.class));
+    }
+
+    private void store(Item item, Map<ZonedDateTime, State> values) {
+        batches.computeIfAbsent(item.getName(), k -> new ArrayList<>()).add(new LinkedHashMap<>(values));
+    }
+
+    private List<Map<ZonedDateTime, State>> batchesOf(String itemName) {
+        return Objects.requireNonNull(batches.get(itemName));
+    }
+
+    @Test
+    public void flushStoresOneBatchPerItem() {
+        JdbcWriteBehindQueue queue = createQueue(10, OverflowPolicy.BLOCK);
+        queue.add(item1, new DecimalType(1), NOW);
+        queue.add(item2, new DecimalType(2), NOW);
+        queue.add(item1, new DecimalType(3), NOW.plusSeconds(1));
+        assertThat(queue.getQueueDepth(), is(3));
+
+        queue.flush();
+
+        assertThat(queue.getQueueDepth(), is(0));
+        assertThat(queue.getStoredValues(), is(3L));
+        assertThat(batchesOf("item1").size(), is(1));
+        assertThat(batchesOf("item1").get(0).size(), is(2));
+        assertThat(batchesOf("item2").size(), is(1));
+    }
+
+    @Test
+    public void flushKeepsLastValueForSameTimestamp() {
+        JdbcWriteBehindQueue queue = createQueue(10, OverflowPolicy.BLOCK);
+        queue.add(item1, new DecimalType(1), NOW);
+        queue.add(item1, new DecimalType(2), NOW);
+
+        queue.flush();
+
+        assertThat(batchesOf("item1").get(0).size(), is(1));
+        assertThat(batchesOf("item1").get(0).get(NOW), is(new DecimalType(2)));
+    }
+
+    @Test
+    public void flushOfItemOnlyStoresValuesOfThatItem() {
+        JdbcWriteBehindQueue queue = createQueue(10, OverflowPolicy.BLOCK);
+        queue.add(item1, new DecimalType(1), NOW);
+        queue.add(item2, new DecimalType(2), NOW);
+        queue.add(item1, new DecimalType(3), NOW.plusSeconds(1));
+
+        queue.flush("item1");
+
+        assertThat(queue.getQueueDepth(), is(1));
+        assertThat(batchesOf("item1").size(), is(1));
+        assertThat(batchesOf("item1").get(0).size(), is(2));
+        assertThat(batches.containsKey("item2"), is(false));
+
+        queue.flush();
+
+        assertThat(batchesOf("item2").size(), is(1));
+        assertThat(queue.getStoredValues(), is(3L));
+    }
+
+    @Test
+    public void blockPolicyFlushesWhenFull() {
+        JdbcWriteBehindQueue queue = createQueue(2, OverflowPolicy.BLOCK);
+        queue.add(item1, new DecimalType(1), NOW);
+        queue.add(item1, new DecimalType(2), NOW.plusSeconds(1));
+        assertThat(queue.add(item1, new DecimalType(3), NOW.plusSeconds(2)), is(true));
+
+        assertThat(queue.getQueueDepth(), is(1));
+        assertThat(queue.getDroppedValues(), is(0L));
+        assertThat(batchesOf("item1").get(0).size(), is(2));
+    }
+
+    @Test
+    public void dropNewestPolicyDiscardsNewValue() {
+        JdbcWriteBehindQueue queue = createQueue(1, OverflowPolicy.DROP_NEWEST);
+        queue.add(item1, new DecimalType(1), NOW);
+        assertThat(queue.add(item1, new DecimalType(2), NOW.plusSeconds(1)), is(false));
+
+        queue.flush();
+
+        assertThat(queue.getDroppedValues(), is(1L));
+        assertThat(batchesOf("item1").get(0).get(NOW), is(new DecimalType(1)));
+    }
+
+    @Test
+    public void dropOldestPolicyDiscardsOldestValue() {
+        JdbcWriteBehindQueue queue = createQueue(1, OverflowPolicy.DROP_OLDEST);
+        queue.add(item1, new DecimalType(1), NOW);
+        assertThat(queue.add(item1, new DecimalType(2), NOW.plusSeconds(1)), is(false));
+
+        queue.flush();
+
+        assertThat(queue.getDroppedValues(), is(1L));
+        assertThat(batchesOf("item1").get(0).get(NOW.plusSeconds(1)), is(new DecimalType(2)));
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.RawType;
+import org.openhab.core.library.types.RewindFastforwardType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact binary serializer for {@link MapDbItem}s.
+ *
+ * The format is a version byte, the timestamp, the item name, a type code for the state class (or its class name for
+ * types that are not in the list of known types) and the full string representation of the state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializer {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte UNKNOWN_TYPE = -1;
+
+    /**
+     * Known state types, indexed by their type code. New types must only be appended to keep stored data readable.
+     */
+    private static final List<Class<? extends State>> KNOWN_TYPES = List.of(DecimalType.class, QuantityType.class,
+            OnOffType.class, OpenClosedType.class, PercentType.class, HSBType.class, StringType.class,
+            DateTimeType.class, PointType.class, UpDownType.class, PlayPauseType.class, RewindFastforwardType.class,
+            StringListType.class, RawType.class);
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbItemSerializer.class);
+
+    public byte[] serialize(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            State state = item.getState();
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeString(out, item.getName());
+            int typeCode = KNOWN_TYPES.indexOf(state.getClass());
+            out.writeByte(typeCode);
+            if (typeCode == UNKNOWN_TYPE) {
+                writeString(out, state.getClass().getName());
+            }
+            writeString(out, state.toFullString());
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public @Nullable MapDbItem deserialize(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                logger.warn("Couldn't deserialize item: unsupported format version {}", version);
+                return null;
+            }
+            long timestamp = in.readLong();
+            String name = readString(in);
+            byte typeCode = in.readByte();
+            Class<? extends State> valueType;
+            if (typeCode == UNKNOWN_TYPE) {
+                String valueTypeName = readString(in);
+                @SuppressWarnings("unchecked")
+                Class<? extends State> type = (Class<? extends State>) Class.forName(valueTypeName);
+                valueType = type;
+            } else {
+                valueType = KNOWN_TYPES.get(typeCode);
+            }
+            String value = readString(in);
+            State state = TypeParser.parseState(List.of(valueType), value);
+            if (state == null) {
+                logger.warn("Couldn't deserialize state '{}' of item '{}' as {}", value, name,
+                        valueType.getSimpleName());
+                return null;
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        } catch (IOException | ClassNotFoundException | IndexOutOfBoundsException | ClassCastException e) {
+            logger.warn("Couldn't deserialize item: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        // DataOutputStream.writeUTF is limited to 64 KB, which is too small for e.g. images
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
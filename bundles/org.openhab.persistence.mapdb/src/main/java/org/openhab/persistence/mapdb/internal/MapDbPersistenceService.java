@@ -24,7 +24,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +38,7 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -43,9 +48,11 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,30 +67,51 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
+    protected static final String CONFIG_URI = "persistence:mapdb";
+
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String LEGACY_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStoreBinary";
+
+    private static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+    private static final String CONFIG_COMMIT_SIZE = "commitSize";
+    private static final long DEFAULT_COMMIT_INTERVAL = 1000;
+    private static final int DEFAULT_COMMIT_SIZE = 100;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /** holds the local instance of the MapDB database */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
 
-    private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
-            .create();
+    private final MapDbItemSerializer serializer = new MapDbItemSerializer();
+
+    /** commits are coalesced: at most one per commit interval, unless commitSize entries are dirty */
+    private long commitInterval = DEFAULT_COMMIT_INTERVAL;
+    private int commitSize = DEFAULT_COMMIT_SIZE;
+    private final AtomicInteger dirtyEntries = new AtomicInteger();
+    private final AtomicLong storeCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
+    private @Nullable ScheduledFuture<?> commitJob;
 
     @Activate
-    public void activate() {
+    public void activate(final Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -96,7 +124,8 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = db.createTreeMap(MAP_NAME).makeOrGet();
+            migrateLegacyMap();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException) {
@@ -129,7 +158,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = db.createTreeMap(MAP_NAME).makeOrGet();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -138,10 +167,62 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    protected void modified(final Map<String, Object> config) {
+        commitInterval = parseConfig(config.get(CONFIG_COMMIT_INTERVAL), DEFAULT_COMMIT_INTERVAL);
+        commitSize = (int) parseConfig(config.get(CONFIG_COMMIT_SIZE), DEFAULT_COMMIT_SIZE);
+        logger.debug("MapDB commits are coalesced every {} ms or after {} changes", commitInterval, commitSize);
+    }
+
+    private long parseConfig(@Nullable Object value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid MapDB configuration value '{}', using {}", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Converts the JSON serialized states of older versions to the binary format and removes the old map.
+     */
+    private void migrateLegacyMap() {
+        if (!db.exists(LEGACY_MAP_NAME)) {
+            return;
+        }
+        Gson gson = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : legacyMap.entrySet()) {
+            MapDbItem item = gson.<MapDbItem> fromJson(entry.getValue(), MapDbItem.class);
+            if (item != null && item.isValid() && !map.containsKey(entry.getKey())) {
+                map.put(entry.getKey(), serializer.serialize(item));
+                migrated++;
+            }
+        }
+        db.delete(LEGACY_MAP_NAME);
+        db.commit();
+        logger.info("Migrated {} MapDB entries to the binary format", migrated);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        ScheduledFuture<?> job = commitJob;
+        if (job != null) {
+            job.cancel(false);
+            commitJob = null;
+        }
         if (db != null) {
+            if (dirtyEntries.getAndSet(0) > 0) {
+                db.commit();
+                commitCount.incrementAndGet();
+            }
+            logger.debug("MapDB performed {} commits for {} stored states, {} commits avoided", commitCount.get(),
+                    storeCount.get(), getCommitsAvoided());
             db.close();
         }
     }
@@ -182,43 +263,70 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(localAlias, json);
+        map.put(localAlias, serializer.serialize(mItem));
+        storeCount.incrementAndGet();
         commit();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        }
+        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        byte[] data = map.get(filter.getItemName());
+        if (data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
-    }
-
-    @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem> fromJson(json, MapDbItem.class);
+    private Optional<MapDbItem> deserialize(byte[] data) {
+        MapDbItem item = serializer.deserialize(data);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
             return Optional.empty();
         } else if (logger.isDebugEnabled()) {
-            logger.debug("Deserialized '{}' with state '{}' from '{}'", item.getName(), item.getState(), json);
+            logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
         }
 
         return Optional.of(item);
     }
 
-    private void commit() {
-        threadPool.submit(() -> db.commit());
+    /**
+     * Requests a commit. Instead of committing every single change, changes are collected and committed together
+     * after the commit interval, or immediately once the configured number of changes is pending.
+     */
+    private synchronized void commit() {
+        int dirty = dirtyEntries.incrementAndGet();
+        ScheduledFuture<?> job = commitJob;
+        if (dirty >= commitSize) {
+            if (job == null || job.getDelay(TimeUnit.MILLISECONDS) > 0) {
+                if (job != null) {
+                    job.cancel(false);
+                }
+                commitJob = scheduler.schedule(this::doCommit, 0, TimeUnit.MILLISECONDS);
+            }
+        } else if (job == null) {
+            commitJob = scheduler.schedule(this::doCommit, commitInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void doCommit() {
+        synchronized (this) {
+            commitJob = null;
+        }
+        int dirty = dirtyEntries.getAndSet(0);
+        if (dirty > 0) {
+            db.commit();
+            commitCount.incrementAndGet();
+            logger.trace("Committed {} changes to MapDB, {} commits avoided so far", dirty, getCommitsAvoided());
+        }
+    }
+
+    /**
+     * Returns the number of commits that were saved by coalescing changes.
+     */
+    public long getCommitsAvoided() {
+        return storeCount.get() - commitCount.get();
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
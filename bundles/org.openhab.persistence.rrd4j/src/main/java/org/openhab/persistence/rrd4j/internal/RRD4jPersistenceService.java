@@ -20,13 +20,13 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -69,6 +69,7 @@ import org.openhab.core.types.State;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.rrd4j.ConsolFun;
@@ -117,7 +118,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
 
-    private final Map<String, ScheduledFuture<?>> scheduledJobs = new HashMap<>();
+    private final Map<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
+
+    private static final int STORE_STRIPES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final List<ExecutorService> storeExecutors = new ArrayList<>(STORE_STRIPES);
+
+    private final List<Object> dbLocks = new ArrayList<>(STORE_STRIPES * 4);
 
     private final ItemRegistry itemRegistry;
 
@@ -132,6 +139,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < STORE_STRIPES; i++) {
+            storeExecutors.add(Executors.newSingleThreadExecutor(new NamedThreadFactory("RRD4j-store-" + i)));
+        }
+        for (int i = 0; i < STORE_STRIPES * 4; i++) {
+            dbLocks.add(new Object());
+        }
     }
 
     @Override
@@ -145,20 +158,59 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     @Override
-    public synchronized void store(final Item item, @Nullable final String alias) {
+    public void store(final Item item, @Nullable final String alias) {
         if (!isSupportedItemType(item)) {
             logger.trace("Ignoring item '{}' since its type {} is not supported", item.getName(), item.getType());
             return;
         }
         final String name = alias == null ? item.getName() : alias;
 
+        // the value is determined now, only the file I/O is done by the store executor of this item
+        Double value = null;
+        if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
+            NumberItem nItem = (NumberItem) item;
+            QuantityType<?> qState = (QuantityType<?>) item.getState();
+            Unit<? extends Quantity<?>> unit = nItem.getUnit();
+            if (unit != null) {
+                QuantityType<?> convertedState = qState.toUnit(unit);
+                if (convertedState != null) {
+                    value = convertedState.doubleValue();
+                } else {
+                    logger.warn(
+                            "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
+                            qState, unit);
+                }
+            } else {
+                value = qState.doubleValue();
+            }
+        } else {
+            DecimalType state = item.getStateAs(DecimalType.class);
+            if (state != null) {
+                value = state.toBigDecimal().doubleValue();
+            }
+        }
+
+        final Double storeValue = value;
+        final long now = System.currentTimeMillis() / 1000;
+        try {
+            getStoreExecutor(name).execute(() -> internalStore(item, name, storeValue, now));
+        } catch (RejectedExecutionException e) {
+            // this happens if the system is shut down
+            logger.debug("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a value to the database of the given item. All writes for the same item are done by the same single
+     * threaded executor, so they are serialized and keep their order, while different items are written in parallel.
+     */
+    private void internalStore(final Item item, final String name, @Nullable Double value, long now) {
         RrdDb db = getDB(name);
         if (db == null) {
             return;
         }
 
         ConsolFun function = getConsolidationFunction(db);
-        long now = System.currentTimeMillis() / 1000;
         if (function != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
@@ -183,30 +235,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             Sample sample = db.createSample();
             sample.setTime(now);
 
-            Double value = null;
-
-            if (item instanceof NumberItem && item.getState() instanceof QuantityType) {
-                NumberItem nItem = (NumberItem) item;
-                QuantityType<?> qState = (QuantityType<?>) item.getState();
-                Unit<? extends Quantity<?>> unit = nItem.getUnit();
-                if (unit != null) {
-                    QuantityType<?> convertedState = qState.toUnit(unit);
-                    if (convertedState != null) {
-                        value = convertedState.doubleValue();
-                    } else {
-                        logger.warn(
-                                "Failed to convert state '{}' to unit '{}'. Please check your item definition for correctness.",
-                                qState, unit);
-                    }
-                } else {
-                    value = qState.doubleValue();
-                }
-            } else {
-                DecimalType state = item.getStateAs(DecimalType.class);
-                if (state != null) {
-                    value = state.toBigDecimal().doubleValue();
-                }
-            }
             if (value != null) {
                 if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) { // counter values must be
                                                                                       // adjusted by stepsize
@@ -336,7 +364,18 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias) {
+    private ExecutorService getStoreExecutor(String alias) {
+        return storeExecutors.get(Math.floorMod(alias.hashCode(), storeExecutors.size()));
+    }
+
+    protected @Nullable RrdDb getDB(String alias) {
+        // only the creation of the same database file must not happen concurrently
+        synchronized (dbLocks.get(Math.floorMod(alias.hashCode(), dbLocks.size()))) {
+            return getOrCreateDB(alias);
+        }
+    }
+
+    private @Nullable RrdDb getOrCreateDB(String alias) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -464,6 +503,27 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         modified(config);
     }
 
+    @Deactivate
+    protected void deactivate() {
+        scheduledJobs.values().forEach(job -> job.cancel(true));
+        scheduledJobs.clear();
+        scheduler.shutdownNow();
+        // let pending writes complete
+        for (ExecutorService executor : storeExecutors) {
+            executor.shutdown();
+        }
+        for (ExecutorService executor : storeExecutors) {
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Modified
     protected void modified(final Map<String, Object> config) {
         // clean existing definitions
@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +27,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +45,46 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * A single payload is usually transformed by several channels within a few milliseconds, so parsed documents are
+     * only kept for a short time.
+     */
+    private static final long DOCUMENT_CACHE_TTL_MS = 5000;
+    private static final int DOCUMENT_CACHE_SIZE = 16;
+    private static final int PATH_CACHE_SIZE = 256;
+
+    private static class ParsedDocument {
+        private final @Nullable Object document;
+        private final long expiresAt;
+
+        private ParsedDocument(@Nullable Object document, long expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+    private final Map<String, ParsedDocument> documentCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ParsedDocument> eldest) {
+            return size() > DOCUMENT_CACHE_SIZE;
+        }
+    };
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > PATH_CACHE_SIZE;
+        }
+    };
+    private final AtomicLong documentCacheHits = new AtomicLong();
+    private final AtomicLong documentCacheMisses = new AtomicLong();
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +102,8 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = getCompiledPath(jsonPathExpression);
+            Object transformationResult = jsonPath.read(getParsedDocument(source), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +119,57 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath jsonPath;
+        synchronized (pathCache) {
+            jsonPath = pathCache.get(jsonPathExpression);
+        }
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            synchronized (pathCache) {
+                pathCache.put(jsonPathExpression, jsonPath);
+            }
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Returns the parsed form of the given JSON source. The parsed document is shared by all transformations of the
+     * same payload within {@link #DOCUMENT_CACHE_TTL_MS}, it must therefore never be modified.
+     */
+    private @Nullable Object getParsedDocument(String source) {
+        long now = System.currentTimeMillis();
+        ParsedDocument parsed;
+        synchronized (documentCache) {
+            parsed = documentCache.get(source);
+        }
+        if (parsed != null && parsed.expiresAt > now) {
+            documentCacheHits.incrementAndGet();
+            return parsed.document;
+        }
+        documentCacheMisses.incrementAndGet();
+        Object document = configuration.jsonProvider().parse(source);
+        synchronized (documentCache) {
+            documentCache.values().removeIf(p -> p.expiresAt <= now);
+            documentCache.put(source, new ParsedDocument(document, now + DOCUMENT_CACHE_TTL_MS));
+        }
+        return document;
+    }
+
+    /**
+     * Returns the number of transformations that reused an already parsed JSON document.
+     */
+    public long getDocumentCacheHits() {
+        return documentCacheHits.get();
+    }
+
+    /**
+     * Returns the number of transformations that had to parse their JSON document.
+     */
+    public long getDocumentCacheMisses() {
+        return documentCacheMisses.get();
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -127,4 +127,23 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testParsedDocumentIsShared() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("1", processor.transform("$[0].id", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+
+        assertEquals(1, processor.getDocumentCacheMisses());
+        assertEquals(2, processor.getDocumentCacheHits());
+    }
+
+    @Test
+    public void testInvalidJsonIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+
+        assertEquals(2, processor.getDocumentCacheMisses());
+        assertEquals(0, processor.getDocumentCacheHits());
+    }
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Sorted lookup table for the ranges of a scale definition.
+ *
+ * All range limits are collected into a sorted array of bounds. They split the number line into elementary
+ * segments: the open intervals between two bounds and the bounds themselves. No range limit lies inside such a
+ * segment, so every range either contains a segment completely or not at all. The label of the first range (in
+ * definition order) containing a segment is resolved once, a lookup is then a binary search over the bounds.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RangeIndex {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final BigDecimal[] bounds;
+
+    /**
+     * Label per segment: index {@code 2 * i} is the open interval below {@code bounds[i]}, index {@code 2 * i + 1} is
+     * {@code bounds[i]} itself and the last index is the open interval above the highest bound.
+     */
+    private final @Nullable String[] labels;
+
+    /**
+     * @param ranges the ranges with their labels, in the order in which they have to be evaluated
+     */
+    RangeIndex(Map<@Nullable Range, String> ranges) {
+        TreeSet<BigDecimal> limits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range != null) {
+                if (range.min != null) {
+                    limits.add(range.min);
+                }
+                if (range.max != null) {
+                    limits.add(range.max);
+                }
+            }
+        }
+        bounds = limits.toArray(new BigDecimal[0]);
+        labels = new String[2 * bounds.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            labels[segment] = firstMatch(ranges, representative(segment));
+        }
+    }
+
+    /**
+     * Returns the label of the first range containing the given value, or {@code null} if there is none.
+     */
+    @Nullable
+    String find(BigDecimal value) {
+        int position = Arrays.binarySearch(bounds, value);
+        return labels[position >= 0 ? 2 * position + 1 : -2 * (position + 1)];
+    }
+
+    /**
+     * Returns a value that lies within the given segment.
+     */
+    private BigDecimal representative(int segment) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return bounds[index];
+        } else if (index == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        } else if (index == bounds.length) {
+            return bounds[index - 1].add(BigDecimal.ONE);
+        }
+        return bounds[index - 1].add(bounds[index]).divide(TWO);
+    }
+
+    private static @Nullable String firstMatch(Map<@Nullable Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<@Nullable Range, String> entry : ranges.entrySet()) {
+            Range range = entry.getKey();
+            if (range != null && range.contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
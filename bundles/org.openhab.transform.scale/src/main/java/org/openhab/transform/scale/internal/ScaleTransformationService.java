@@ -80,6 +80,7 @@ public class ScaleTransformationService
     private final TransformationRegistry transformationRegistry;
 
     private final Map<String, Map<@Nullable Range, String>> cachedTransformations = new ConcurrentHashMap<>();
+    private final Map<String, RangeIndex> cachedIndexes = new ConcurrentHashMap<>();
 
     @Activate
     public ScaleTransformationService(@Reference TransformationRegistry transformationRegistry) {
@@ -100,10 +101,12 @@ public class ScaleTransformationService
     @Override
     public void removed(Transformation element) {
         cachedTransformations.remove(element.getUID());
+        cachedIndexes.remove(element.getUID());
     }
 
     @Override
     public void updated(Transformation oldElement, Transformation element) {
+        cachedIndexes.remove(oldElement.getUID());
         if (cachedTransformations.remove(oldElement.getUID()) != null) {
             // import only if it was present before
             importConfiguration(element);
@@ -150,18 +153,19 @@ public class ScaleTransformationService
                 importConfiguration(transformation);
             }
             Map<@Nullable Range, String> data = cachedTransformations.get(function);
+            RangeIndex index = cachedIndexes.get(function);
 
-            if (data != null) {
+            if (data != null && index != null) {
                 String target;
 
                 try {
                     final BigDecimal value = new BigDecimal(source);
-                    target = formatResult(data, source, value);
+                    target = formatResult(data, index, source, value);
                 } catch (NumberFormatException e) {
                     // Scale can only be used with numeric inputs, so lets try to see if ever its a valid quantity type
                     try {
                         final QuantityType<?> quantity = new QuantityType<>(source);
-                        return formatResult(data, source, quantity.toBigDecimal());
+                        return formatResult(data, index, source, quantity.toBigDecimal());
                     } catch (IllegalArgumentException e2) {
                         String nonNumeric = data.get(null);
                         if (nonNumeric != null) {
@@ -180,18 +184,20 @@ public class ScaleTransformationService
         throw new TransformationException("Could not find configuration '" + function + "' or failed to parse it.");
     }
 
-    private String formatResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
-            throws TransformationException {
+    private String formatResult(Map<@Nullable Range, String> data, RangeIndex index, String source,
+            final BigDecimal value) throws TransformationException {
         String format = data.get(FORMAT_RANGE);
-        String result = getScaleResult(data, source, value);
+        String result = getScaleResult(index, source, value);
         return format.replaceAll(FORMAT_VALUE, source).replaceAll(FORMAT_LABEL, result);
     }
 
-    private String getScaleResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
+    private String getScaleResult(RangeIndex index, String source, final BigDecimal value)
             throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey() != null && entry.getKey().contains(value))
-                .findFirst().map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+        String result = index.find(value);
+        if (result == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        return result;
     }
 
     private void importConfiguration(@Nullable Transformation configuration) {
@@ -235,6 +241,7 @@ public class ScaleTransformationService
                     }
                 }
 
+                cachedIndexes.put(configuration.getUID(), new RangeIndex(data));
                 cachedTransformations.put(configuration.getUID(), data);
             } catch (IOException | NumberFormatException ignored) {
             }
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RangeIndexTest {
+
+    @Test
+    public void testFirstMatchWins() {
+        Map<@Nullable Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closed(new BigDecimal(10), new BigDecimal(20)), "first");
+        ranges.put(Range.closed(new BigDecimal(0), new BigDecimal(30)), "second");
+        ranges.put(null, "NaN");
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertEquals("second", index.find(new BigDecimal(5)));
+        assertEquals("first", index.find(new BigDecimal(10)));
+        assertEquals("first", index.find(new BigDecimal("12.5")));
+        assertEquals("first", index.find(new BigDecimal("20.00")));
+        assertEquals("second", index.find(new BigDecimal("20.01")));
+        assertNull(index.find(new BigDecimal(-1)));
+        assertNull(index.find(new BigDecimal(31)));
+    }
+
+    @Test
+    public void testOpenAndUnboundedLimits() {
+        Map<@Nullable Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.lessThan(BigDecimal.ZERO), "negative");
+        ranges.put(Range.open(BigDecimal.ZERO, BigDecimal.ONE), "fraction");
+        ranges.put(Range.atLeast(BigDecimal.ONE), "large");
+        RangeIndex index = new RangeIndex(ranges);
+
+        assertEquals("negative", index.find(new BigDecimal("-1000")));
+        assertNull(index.find(BigDecimal.ZERO));
+        assertEquals("fraction", index.find(new BigDecimal("0.5")));
+        assertEquals("large", index.find(BigDecimal.ONE));
+        assertEquals("large", index.find(new BigDecimal("1e9")));
+    }
+
+    @Test
+    public void testMatchesLinearEvaluation() {
+        Random random = new Random(42);
+        Map<@Nullable Range, String> ranges = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            BigDecimal low = BigDecimal.valueOf(random.nextInt(1000), 1);
+            BigDecimal high = low.add(BigDecimal.valueOf(random.nextInt(100), 1));
+            ranges.put(Range.range(low, random.nextBoolean(), high, random.nextBoolean()), "range" + i);
+        }
+        RangeIndex index = new RangeIndex(ranges);
+
+        for (int i = -10; i < 1200; i++) {
+            BigDecimal value = BigDecimal.valueOf(i, 1);
+            String expected = ranges.entrySet().stream()
+                    .filter(entry -> entry.getKey() != null && entry.getKey().contains(value)).findFirst()
+                    .map(Map.Entry::getValue).orElse(null);
+            assertEquals(expected, index.find(value), "value " + value);
+        }
+    }
+}
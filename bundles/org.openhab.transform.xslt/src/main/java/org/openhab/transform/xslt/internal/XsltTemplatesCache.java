@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link XsltTemplatesCache} holds the compiled stylesheets of the XSLT files in the transformation folder.
+ * Compiled {@link Templates} are thread-safe, each thread gets its own {@link Transformer} from them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = XsltTemplatesCache.class)
+public class XsltTemplatesCache {
+
+    public static final String TRANSFORM_FOLDER = OpenHAB.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesCache.class);
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private final Map<Path, CompiledStylesheet> cache = new ConcurrentHashMap<>();
+
+    private static class CompiledStylesheet {
+        private final ThreadLocal<Transformer> transformers;
+
+        private CompiledStylesheet(Templates templates) {
+            this.transformers = ThreadLocal.withInitial(() -> {
+                try {
+                    return templates.newTransformer();
+                } catch (TransformerConfigurationException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a transformer for the given XSLT file. The stylesheet is compiled on first use only, the returned
+     * transformer must only be used by the calling thread.
+     *
+     * @param filename the name of the file in the transformation folder, may contain subfolders
+     * @return a reset transformer for the calling thread
+     * @throws TransformerConfigurationException if the stylesheet cannot be compiled
+     */
+    public Transformer getTransformer(String filename) throws TransformerConfigurationException {
+        Path path = getPath(filename);
+        CompiledStylesheet stylesheet = cache.get(path);
+        if (stylesheet == null) {
+            stylesheet = new CompiledStylesheet(compile(path));
+            CompiledStylesheet previous = cache.putIfAbsent(path, stylesheet);
+            if (previous != null) {
+                stylesheet = previous;
+            }
+        }
+        try {
+            Transformer transformer = stylesheet.transformers.get();
+            transformer.reset();
+            return transformer;
+        } catch (IllegalStateException e) {
+            throw new TransformerConfigurationException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private Templates compile(Path path) throws TransformerConfigurationException {
+        logger.debug("Compiling XSLT stylesheet '{}'", path);
+        // TransformerFactory is not guaranteed to be thread-safe
+        synchronized (transformerFactory) {
+            return transformerFactory.newTemplates(new StreamSource(path.toFile()));
+        }
+    }
+
+    /**
+     * Removes the compiled stylesheet of the given file, it is compiled again on next use.
+     *
+     * @param path the path of the modified or deleted file
+     */
+    public void removeFromCache(Path path) {
+        if (cache.remove(path.toAbsolutePath().normalize()) != null) {
+            logger.debug("Removed compiled XSLT stylesheet '{}' from cache", path);
+        }
+    }
+
+    /**
+     * Removes all compiled stylesheets.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private Path getPath(String filename) {
+        return Path.of(TRANSFORM_FOLDER, filename).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchEvent.Kind;
+
+import org.openhab.core.service.AbstractWatchService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link XsltTransformationWatcher} watches the transformation directory. If a file is modified or deleted, its
+ * compiled stylesheet is removed from the {@link XsltTemplatesCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@Component
+public class XsltTransformationWatcher extends AbstractWatchService {
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTransformationWatcher.class);
+
+    private final XsltTemplatesCache cache;
+
+    @Activate
+    public XsltTransformationWatcher(final @Reference XsltTemplatesCache cache) {
+        super(XsltTemplatesCache.TRANSFORM_FOLDER);
+        this.cache = cache;
+    }
+
+    @Override
+    public void activate() {
+        super.activate();
+    }
+
+    @Override
+    protected boolean watchSubDirectories() {
+        return true;
+    }
+
+    @Override
+    protected Kind<?>[] getWatchEventKinds(Path directory) {
+        return new Kind<?>[] { ENTRY_DELETE, ENTRY_MODIFY };
+    }
+
+    @Override
+    protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
+        logger.debug("New watch event {} for path {}.", kind, path);
+
+        if (kind == OVERFLOW) {
+            // events might have been lost, so recompile everything on next use
+            cache.clear();
+            return;
+        }
+
+        cache.removeFromCache(path);
+    }
+}